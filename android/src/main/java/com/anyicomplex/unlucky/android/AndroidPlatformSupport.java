@@ -43,6 +43,9 @@ package com.anyicomplex.unlucky.android;
 
 import com.anyicomplex.unlucky.util.PlatformSupport;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
 
 public class AndroidPlatformSupport extends PlatformSupport {
 
@@ -82,4 +85,10 @@ public class AndroidPlatformSupport extends PlatformSupport {
         return androidLauncher.settings.fullscreen;
     }
 
+    @Override
+    public ByteBuffer readFileBuffer(FileHandle file) {
+        // internal files live inside the apk and may be compressed, so they can't be mapped
+        return ByteBuffer.wrap(file.readBytes());
+    }
+
 }
@@ -50,6 +50,7 @@ import com.anyicomplex.unlucky.screen.*;
 import com.anyicomplex.unlucky.screen.game.VictoryScreen;
 import com.anyicomplex.unlucky.ui.inventory.InventoryUI;
 import com.anyicomplex.unlucky.util.Disposer;
+import com.anyicomplex.unlucky.util.FrameProfiler;
 import com.anyicomplex.unlucky.util.PlatformSupport;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
@@ -61,6 +62,7 @@ import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * "Unlucky" is a RPG/Dungeon Crawler based on RNG
@@ -98,6 +100,8 @@ public class Unlucky extends Game {
 
     // Rendering utilities
     public SpriteBatch batch;
+    // draws frames at V_WIDTH x V_HEIGHT before upscaling them to the window
+    public NativeRenderer nativeRenderer;
 
     // Resources
     public ResourceManager rm;
@@ -127,17 +131,35 @@ public class Unlucky extends Game {
 
     // debugging
     public Label fps;
+    public FrameProfiler profiler = new FrameProfiler();
+    // frames rendered per second while the screen is idle and rendering on demand
+    public int idleFps = 0;
+    private int idleFrames = 0;
+    private long idleStart = 0;
+    private boolean wasIdle = false;
 
 	public void create() {
 
         batch = new SpriteBatch();
         rm = new ResourceManager();
+        nativeRenderer = new NativeRenderer(batch);
+
+        // everything else waits for the menu assets
+        setScreen(new LoadingScreen(this, rm));
+	}
+
+    /**
+     * Creates the player and screens once the loading screen has the menu assets
+     */
+    public void finishCreate() {
         player = new Player("player", rm);
 
         save = new Save(player, "save");
         save.load(rm);
         if (preLoadSettings != null) player.settings = preLoadSettings;
 
+        NativeRenderer.integerScaling = player.settings.integerScaling;
+
         if (Gdx.app.getType() == Application.ApplicationType.WebGL) player.settings.fullscreen = false;
         if (player.settings.fullscreen) {
             fullscreen();
@@ -179,7 +201,7 @@ public class Unlucky extends Game {
 
         if (Gdx.app.getType() == Application.ApplicationType.WebGL) setScreen(new GwtScreen(this, rm));
         else setScreen(menuScreen);
-	}
+    }
 
     public void setCustomCursor() {
         if (!DISABLE_CURSOR) {
@@ -205,12 +227,54 @@ public class Unlucky extends Game {
     }
 
 	public void render() {
-        fps.setText(Gdx.graphics.getFramesPerSecond() + " fps");
-        super.render();
+        // the loading screen drives loading itself until the player exists
+        if (player == null) {
+            screen.render(Gdx.graphics.getDeltaTime());
+            return;
+        }
+        // keeps loading battle and world assets in the background once the menu is up
+        rm.update();
+
+        if (wasIdle) fps.setText(idleFps + " fps idle");
+        else fps.setText(Gdx.graphics.getFramesPerSecond() + " fps");
+
+        // frames after an idle gap would otherwise jump animations forward by the whole gap
+        float dt = Gdx.graphics.getDeltaTime();
+        if (wasIdle) dt = Math.min(dt, 1 / 30f);
+        profiler.setEnabled(player.settings.showProfiler);
+        if (screen instanceof AbstractScreen && player.settings.nativeResolution) {
+            nativeRenderer.begin();
+            screen.render(dt);
+            profiler.draw(batch, rm.pixel10);
+            nativeRenderer.end((NativeViewport) ((AbstractScreen) screen).getStage().getViewport());
+        }
+        else if (screen != null) {
+            screen.render(dt);
+            profiler.draw(batch, rm.pixel10);
+        }
+        profiler.endFrame(batch, Gdx.graphics.getDeltaTime());
+
+        // idle screens only render again on input or when an action requests it
+        boolean idle = screen instanceof AbstractScreen && ((AbstractScreen) screen).isIdle(dt);
+        if (idle != wasIdle) {
+            Gdx.graphics.setContinuousRendering(!idle);
+            idleFrames = 0;
+            idleStart = TimeUtils.nanoTime();
+        }
+        else if (idle) {
+            idleFrames++;
+            long elapsed = TimeUtils.timeSinceNanos(idleStart);
+            if (elapsed >= 1000000000L) {
+                idleFps = (int) (idleFrames * 1000000000L / elapsed);
+                idleFrames = 0;
+                idleStart = TimeUtils.nanoTime();
+            }
+        }
+        wasIdle = idle;
     }
 
 	public void dispose() {
-        Disposer.dispose(batch);
+        Disposer.dispose(batch, nativeRenderer);
         super.dispose();
 
         Disposer.dispose(menuScreen, gameScreen, worldSelectScreen,
@@ -225,6 +289,10 @@ public class Unlucky extends Game {
 
     @Override
     public void resize(int width, int height) {
+        if (player == null) {
+            super.resize(width, height);
+            return;
+        }
         if (!Unlucky.DISABLE_FULLSCREEN) player.settings.fullscreen = isFullscreen();
         super.resize(width, height);
         settingsScreen.performResize(width, height);
@@ -41,20 +41,23 @@
 
 package com.anyicomplex.unlucky.effects;
 
-import com.anyicomplex.unlucky.animation.AnimationManager;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.resource.Util;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Pool;
 
 /**
  * Stores and manages particles
  * Creates particle effects such as rain and snow
  *
+ * Particles are stored as parallel primitive arrays that only grow when
+ * more particles are requested, and a particle is respawned in place when
+ * it dies, so updating and rendering never allocate.
+ *
  * @author Ming Li
  */
 public class ParticleFactory {
@@ -66,12 +69,20 @@ public class ParticleFactory {
     // velocity of particles
     public Vector2 velocity;
 
-    // data
-    public Array<Particle> particles;
-    // pool
-    public Pool<Particle> particlePool;
-
-    private Vector2 particleVelocity = new Vector2();
+    // data, one entry per particle
+    private float[] x = new float[0];
+    private float[] y = new float[0];
+    private float[] vx = new float[0];
+    private float[] vy = new float[0];
+    private float[] lifespan = new float[0];
+    // time since the particle spawned, it dies when this passes its lifespan
+    private float[] stateTime = new float[0];
+
+    // the particle's sprite while alive
+    private TextureRegion sprite;
+    // played after a particle dies, shared by every particle of the type, null for none
+    private Animation<TextureRegion> deathAnim;
+    private final Animation<TextureRegion> raindropDeath;
 
     // camera viewport
     private int viewWidth;
@@ -86,41 +97,27 @@ public class ParticleFactory {
         this.viewHeight = (int) cam.viewportHeight;
         this.rm = rm;
 
-        particles = new Array<Particle>();
-        particlePool = new Pool<Particle>() {
-            @Override
-            protected Particle newObject() {
-                return new Particle();
-            }
-        };
+        TextureRegion[] splash = rm.raindropAnim16x16[0];
+        raindropDeath = new Animation<TextureRegion>(1 / 6f, splash[0], splash[1], splash[2]);
     }
 
     public void update(float dt) {
-        // update all particles and free them if necessary
-        for (int i = particles.size - 1; i >= 0; i--) {
-            Particle p = particles.get(i);
-            p.update(dt);
-            if (p.shouldRemove) {
-                if (p.deathAnim != null) {
-                    if (p.deathAnim.currentAnimation.isAnimationFinished()) {
-                        particles.removeIndex(i);
-                        particlePool.free(p);
-                        spawn();
-                    }
-                }
-                else {
-                    particles.removeIndex(i);
-                    particlePool.free(p);
-                    spawn();
-                }
+        for (int i = 0; i < numParticles; i++) {
+            float t = stateTime[i] += dt;
+            if (t < lifespan[i]) {
+                x[i] += vx[i] * dt;
+                y[i] += vy[i] * dt;
             }
+            // replaced once dead and done playing its death animation
+            else if (deathAnim == null || deathAnim.isAnimationFinished(t - lifespan[i])) spawn(i);
         }
     }
 
     public void render(SpriteBatch batch) {
-        // render all particles
-        for (int i = 0; i < particles.size; i++) {
-            particles.get(i).render(batch);
+        for (int i = 0; i < numParticles; i++) {
+            float t = stateTime[i];
+            if (t < lifespan[i]) batch.draw(sprite, x[i], y[i]);
+            else if (deathAnim != null) batch.draw(deathAnim.getKeyFrame(t - lifespan[i], false), x[i], y[i]);
         }
     }
 
@@ -131,52 +128,65 @@ public class ParticleFactory {
      * @param numParticles
      */
     public void set(int type, int numParticles, Vector2 velocity) {
-        particles.clear();
-        particlePool.clear();
         this.type = type;
         this.numParticles = numParticles;
         this.velocity = velocity;
+
+        switch (type) {
+            case Particle.RAINDROP:
+                sprite = rm.raindrop;
+                deathAnim = raindropDeath;
+                break;
+            case Particle.SNOWFLAKE:
+                sprite = rm.snowflake;
+                deathAnim = null;
+                break;
+            case Particle.STATIC_RAINDROP:
+                sprite = rm.raindrop;
+                deathAnim = null;
+                break;
+        }
+
+        if (x.length < numParticles) {
+            x = new float[numParticles];
+            y = new float[numParticles];
+            vx = new float[numParticles];
+            vy = new float[numParticles];
+            lifespan = new float[numParticles];
+            stateTime = new float[numParticles];
+        }
         populate();
     }
 
     /**
-     * Spawns one particle of a certain type from the Pool
+     * Spawns a particle of the current type into a slot
+     *
+     * @param i
      */
-    public void spawn() {
-        Particle item = particlePool.obtain();
-        Vector2 weatherParticleSpawnPosition = new Vector2(cam.position.x + MathUtils.random(-viewWidth / 2, viewWidth / 2),
-                cam.position.y + MathUtils.random(-viewHeight / 2, viewHeight / 2));
+    public void spawn(int i) {
+        x[i] = cam.position.x + MathUtils.random(-viewWidth / 2, viewWidth / 2);
+        y[i] = cam.position.y + MathUtils.random(-viewHeight / 2, viewHeight / 2);
+        vx[i] = velocity.x;
+        stateTime[i] = 0;
         switch (type) {
             case Particle.RAINDROP:
-                float rls = MathUtils.random(0.4f, 1.4f);
-                particleVelocity.set(this.velocity.x,
-                        Util.getDeviatedRandomValue((int) this.velocity.y, Util.RAINDROP_Y_DEVIATED));
-                AnimationManager rainAnim = new AnimationManager(rm.raindropAnim16x16, 3, 0, 1 / 6f);
-                item.init(type, weatherParticleSpawnPosition, particleVelocity, rls, rm.raindrop, rainAnim);
+            case Particle.STATIC_RAINDROP:
+                vy[i] = Util.getDeviatedRandomValue((int) velocity.y, Util.RAINDROP_Y_DEVIATED);
+                lifespan[i] = MathUtils.random(0.4f, 1.4f);
                 break;
             case Particle.SNOWFLAKE:
-                float sls = MathUtils.random(0.3f, 1.4f);
-                particleVelocity.set(this.velocity.x,
-                        Util.getDeviatedRandomValue((int) this.velocity.y, Util.SNOWFLAKE_Y_DEVIATED));
-                item.init(type, weatherParticleSpawnPosition, particleVelocity, sls, rm.snowflake, null);
-                break;
-            case Particle.STATIC_RAINDROP:
-                float srls = MathUtils.random(0.4f, 1.4f);
-                particleVelocity.set(this.velocity.x,
-                    Util.getDeviatedRandomValue((int) this.velocity.y, Util.RAINDROP_Y_DEVIATED));
-                item.init(type, weatherParticleSpawnPosition, particleVelocity, srls, rm.raindrop, null);
+                vy[i] = Util.getDeviatedRandomValue((int) velocity.y, Util.SNOWFLAKE_Y_DEVIATED);
+                lifespan[i] = MathUtils.random(0.3f, 1.4f);
                 break;
         }
-        particles.add(item);
     }
 
     /**
-     * Populates the array of particles with an initial
-     * numParticles amount of particles
+     * Fills every slot with a new particle
      */
     public void populate() {
         for (int i = 0; i < numParticles; i++) {
-            spawn();
+            spawn(i);
         }
     }
 
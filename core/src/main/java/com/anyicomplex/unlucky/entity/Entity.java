@@ -320,7 +320,15 @@ public abstract class Entity {
      * @return
      */
     public Tile getCurrentTile() {
-        return tileMap.getTile(tileMap.toTileCoords(position));
+        return tileMap.getTile(tileMap.toCell(position.x, position.y));
+    }
+
+    /**
+     * Returns the type of the tile the Entity is currently standing on
+     * @return
+     */
+    public byte getCurrentTileType() {
+        return tileMap.tileTypes[tileMap.toCell(position.x, position.y)];
     }
 
     public boolean isHasShield() {
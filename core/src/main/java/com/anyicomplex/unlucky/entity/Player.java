@@ -51,13 +51,15 @@ import com.anyicomplex.unlucky.inventory.Inventory;
 import com.anyicomplex.unlucky.inventory.Item;
 import com.anyicomplex.unlucky.map.GameMap;
 import com.anyicomplex.unlucky.map.Tile;
+import com.anyicomplex.unlucky.map.TileMap;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.resource.Statistics;
 import com.anyicomplex.unlucky.resource.Util;
 import com.anyicomplex.unlucky.save.Settings;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
 
 /**
  * The protagonist of the game.
@@ -86,6 +88,9 @@ public class Player extends Entity {
     private boolean teleporting = false;
     // end tiles
     public boolean completedMap = false;
+    // tap to move directions left to walk
+    private IntArray path = new IntArray();
+    private int pathIndex = 0;
 
     // Statistics
     public Statistics stats = new Statistics();
@@ -171,16 +176,30 @@ public class Player extends Entity {
         handleSpecialTiles();
 
         // check for Entity interaction
-        if (tileMap.containsEntity(tileMap.toTileCoords(position)) && canMove()) {
-            opponent = (Enemy) tileMap.getEntity(tileMap.toTileCoords(position));
-            battling = true;
+        if (canMove()) {
+            int cell = tileMap.toCell(position.x, position.y);
+            if (tileMap.containsEntity(cell)) {
+                opponent = (Enemy) tileMap.getEntity(cell);
+                battling = true;
+                clearPath();
+            }
         }
     }
 
     public void render(SpriteBatch batch) {
+        render(batch, position);
+    }
+
+    /**
+     * Draws the player somewhere other than its position, such as between two simulation steps
+     *
+     * @param batch
+     * @param at
+     */
+    public void render(SpriteBatch batch, Vector2 at) {
         // draw shadow
-        batch.draw(rm.shadow11x6, position.x + 3, position.y - 3);
-        batch.draw(am.getKeyFrame(true), position.x + 1, position.y);
+        batch.draw(rm.shadow11x6, at.x + 3, at.y - 3);
+        batch.draw(am.getKeyFrame(true), at.x + 1, at.y);
     }
 
     /**
@@ -195,12 +214,79 @@ public class Player extends Entity {
         prevDir = dir;
         moving = dir;
         stats.numSteps++;
+        // report the tile the move ends on
+        if (dir == 0 || dir == 1) tileMap.setPlayerCell(tileMap.getCell(currentTileX, nextPosition(dir)));
+        else tileMap.setPlayerCell(tileMap.getCell(nextPosition(dir), currentTileY));
     }
 
     public boolean canMove() {
         return moving == -1;
     }
 
+    @Override
+    public void setMap(TileMap map) {
+        super.setMap(map);
+        map.setPlayerCell(map.toCell(position.x, position.y));
+        clearPath();
+    }
+
+    /**
+     * Searches for a path to a cell for tap to move
+     * The path is walked by followPath
+     *
+     * @param cell
+     * @return whether the cell can be reached
+     */
+    public boolean moveTo(int cell) {
+        int x = (int) (position.x / tileMap.tileSize);
+        int y = (int) (position.y / tileMap.tileSize);
+        // the path starts from the tile the current move ends on
+        if (moving == 0 || moving == 1) {
+            x = currentTileX;
+            y = nextPosition(moving);
+        }
+        else if (moving == 2 || moving == 3) {
+            x = nextPosition(moving);
+            y = currentTileY;
+        }
+        pathIndex = 0;
+        return tileMap.getPathFinder().findPath(tileMap.getCell(x, y), cell, path);
+    }
+
+    /**
+     * Starts the next move of the tap to move path once the current move finishes
+     * The path is dropped if something now stands in the way
+     *
+     * @return whether the player is still following a path
+     */
+    public boolean followPath() {
+        if (pathIndex >= path.size) return false;
+        if (!canMove()) return true;
+
+        int dir = path.get(pathIndex);
+        int x = (int) (position.x / tileMap.tileSize);
+        int y = (int) (position.y / tileMap.tileSize);
+        if (dir == 0) y--;
+        else if (dir == 1) y++;
+        else if (dir == 2) x++;
+        else x--;
+        // an Entity only ends the path on the last step, where it was tapped on
+        if (nextTileBlocked(dir) || (pathIndex < path.size - 1 && tileMap.containsEntity(x, y))) {
+            clearPath();
+            return false;
+        }
+
+        pathIndex++;
+        am.setAnimation(dir);
+        move(dir);
+        return true;
+    }
+
+    public void clearPath() {
+        path.clear();
+        pathIndex = 0;
+    }
+
     /**
      * This method is to fix a problem where the player can reset their
      * movement magnitudes continuously on a blocked tile
@@ -213,13 +299,13 @@ public class Player extends Entity {
         currentTileY = (int) (position.y / tileMap.tileSize);
         switch (dir) {
             case 0: // down
-                return tileMap.getTile(currentTileX, currentTileY - 1).isBlocked();
+                return tileMap.isBlocked(currentTileX, currentTileY - 1);
             case 1: // up
-                return tileMap.getTile(currentTileX, currentTileY + 1).isBlocked();
+                return tileMap.isBlocked(currentTileX, currentTileY + 1);
             case 2: // right
-                return tileMap.getTile(currentTileX + 1, currentTileY).isBlocked();
+                return tileMap.isBlocked(currentTileX + 1, currentTileY);
             case 3: // left
-                return tileMap.getTile(currentTileX - 1, currentTileY).isBlocked();
+                return tileMap.isBlocked(currentTileX - 1, currentTileY);
         }
         return false;
     }
@@ -234,26 +320,22 @@ public class Player extends Entity {
     public int nextPosition(int dir) {
         switch (dir) {
             case 0: // down
-                Tile d = tileMap.getTile(currentTileX, currentTileY - 1);
-                if (d.isBlocked() || currentTileY - 1 <= 0) {
+                if (tileMap.isBlocked(currentTileX, currentTileY - 1) || currentTileY - 1 <= 0) {
                     return currentTileY;
                 }
                 return currentTileY - 1;
             case 1: // up
-                Tile u = tileMap.getTile(currentTileX, currentTileY + 1);
-                if (u.isBlocked() || currentTileY + 1 >= tileMap.mapHeight - 1) {
+                if (tileMap.isBlocked(currentTileX, currentTileY + 1) || currentTileY + 1 >= tileMap.mapHeight - 1) {
                     return currentTileY;
                 }
                 return currentTileY + 1;
             case 2: // right
-                Tile r = tileMap.getTile(currentTileX + 1, currentTileY);
-                if (r.isBlocked() || currentTileX + 1 >= tileMap.mapWidth - 1) {
+                if (tileMap.isBlocked(currentTileX + 1, currentTileY) || currentTileX + 1 >= tileMap.mapWidth - 1) {
                     return currentTileX;
                 }
                 return currentTileX + 1;
             case 3: // left
-                Tile l = tileMap.getTile(currentTileX - 1, currentTileY);
-                if (l.isBlocked() || currentTileX - 1 <= 0) {
+                if (tileMap.isBlocked(currentTileX - 1, currentTileY) || currentTileX - 1 <= 0) {
                     return currentTileX;
                 }
                 return currentTileX - 1;
@@ -267,13 +349,17 @@ public class Player extends Entity {
     public void handleSpecialTiles() {
         int cx = (int) (position.x / tileMap.tileSize);
         int cy = (int) (position.y / tileMap.tileSize);
-        Tile currentTile = tileMap.getTile(cx, cy);
+        byte type = tileMap.getTileType(cx, cy);
 
-        if (currentTile.isSpecial()) am.currentAnimation.stop();
+        if (Tile.isSpecial(type)) {
+            am.currentAnimation.stop();
+            // forced movement or an event takes over from tap to move
+            clearPath();
+        }
 
         if (canMove()) {
             // Player goes forwards or backwards from the tile in the direction they entered
-            if (currentTile.isChange()) {
+            if (type == Tile.CHANGE) {
                 if (!settings.muteSfx) rm.movement.play(settings.sfxVolume);
                 boolean k = MathUtils.randomBoolean();
                 switch (prevDir) {
@@ -296,7 +382,7 @@ public class Player extends Entity {
                 }
             }
             // Player goes 1 tile in a random direction not the direction they entered the tile on
-            else if (currentTile.isInAndOut()) {
+            else if (type == Tile.IN_AND_OUT) {
                 if (!settings.muteSfx) rm.movement.play(settings.sfxVolume);
                 // output direction (all other directions other than input direction)
                 int odir = MathUtils.random(2);
@@ -323,28 +409,28 @@ public class Player extends Entity {
                         break;
                 }
             }
-            else if (currentTile.isDown()) {
+            else if (type == Tile.DOWN) {
                 if (!settings.muteSfx) rm.movement.play(settings.sfxVolume);
                 changeDirection(0);
             }
-            else if (currentTile.isUp()) {
+            else if (type == Tile.UP) {
                 if (!settings.muteSfx) rm.movement.play(settings.sfxVolume);
                 changeDirection(1);
             }
-            else if (currentTile.isRight()) {
+            else if (type == Tile.RIGHT) {
                 if (!settings.muteSfx) rm.movement.play(settings.sfxVolume);
                 changeDirection(2);
             }
-            else if (currentTile.isLeft()) {
+            else if (type == Tile.LEFT) {
                 if (!settings.muteSfx) rm.movement.play(settings.sfxVolume);
                 changeDirection(3);
             }
             // trigger dialog event
-            else if (currentTile.isQuestionMark() || currentTile.isExclamationMark()) tileInteraction = true;
+            else if (type == Tile.QUESTION_MARK || type == Tile.EXCLAMATION_MARK) tileInteraction = true;
             // trigger teleport event
-            else if (currentTile.isTeleport()) teleporting = true;
+            else if (type == Tile.TELEPORT) teleporting = true;
             // ice sliding
-            else if (currentTile.isIce()) {
+            else if (type == Tile.ICE) {
                 if (!nextTileBlocked(prevDir)) {
                     move(prevDir);
                     am.setAnimation(prevDir);
@@ -353,7 +439,7 @@ public class Player extends Entity {
                 }
             }
             // map completed
-            else if (currentTile.isEnd()) completedMap = true;
+            else if (type == Tile.END) completedMap = true;
             else pauseAnim = false;
         }
     }
@@ -483,7 +569,7 @@ public class Player extends Entity {
         hp = maxHp;
         minDamage += item.dmg;
         maxDamage += item.dmg;
-        accuracy += item.acc;
+        accuracy += item.definition.acc;
     }
 
     /**
@@ -496,7 +582,7 @@ public class Player extends Entity {
         hp = maxHp;
         minDamage -= item.dmg;
         maxDamage -= item.dmg;
-        accuracy -= item.acc;
+        accuracy -= item.definition.acc;
     }
 
     public Enemy getOpponent() {
@@ -669,10 +755,10 @@ public class Player extends Entity {
      * Sets the player's position to another teleportation tile anywhere on the map
      */
     public void teleport() {
-        Tile currentTile = tileMap.getTile(tileMap.toTileCoords(position));
-        Array<Tile> candidates = tileMap.getTeleportationTiles(currentTile);
-        Tile choose = candidates.get(MathUtils.random(candidates.size - 1));
-        position.set(tileMap.toMapCoords(choose.tilePosition));
+        int cell = tileMap.getTeleportDestination((int) (position.x / tileMap.tileSize), (int) (position.y / tileMap.tileSize));
+        if (cell == -1) return;
+        position.set((cell % tileMap.mapWidth) * tileMap.tileSize, (cell / tileMap.mapWidth) * tileMap.tileSize);
+        tileMap.setPlayerCell(cell);
     }
 
     /**
@@ -616,7 +616,7 @@ public class Battle {
      */
     public void end() {
         opponent = null;
-        tileMap.removeEntity(tileMap.toTileCoords(player.getPosition()));
+        tileMap.removeEntity(tileMap.toCell(player.getPosition().x, player.getPosition().y));
         player.finishBattling();
         gameScreen.setCurrentEvent(EventState.MOVING);
         gameScreen.hud.toggle(true);
@@ -89,8 +89,8 @@ public class Equipment {
      * @return
      */
     public boolean addEquip(Item equip) {
-        if (equips[equip.type - 2] == null) {
-            equips[equip.type - 2] = equip;
+        if (equips[equip.definition.type - 2] == null) {
+            equips[equip.definition.type - 2] = equip;
             equip.equipped = true;
             return true;
         }
@@ -41,7 +41,6 @@
 
 package com.anyicomplex.unlucky.inventory;
 
-import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.resource.Util;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -56,27 +55,11 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
  */
 public class Item {
 
-    // id
-    public String name;
+    // shared catalog data: name, description, type, sprite and base stats
+    public final ItemDefinition definition;
+
     // name displayed on tooltip
     public String labelName;
-    // for rendering onto tooltip
-    public String desc;
-    // type of item
-    /**
-     * 0 - potion
-     * 1 - misc
-     * 2 - helmet
-     * 3 - armor
-     * 4 - weapon
-     * 5 - gloves
-     * 6 - shoes
-     * 7 - necklace
-     * 8 - shield
-     * 9 - ring
-     * 10 - enchant scroll
-     */
-    public int type;
 
     /**
      * items are weighted with rarity meaning
@@ -85,23 +68,14 @@ public class Item {
      * 1 - rare (25% chance)
      * 2 - epic (10% chance)
      * 3 - legendary (5% chance)
+     * starts at the definition's rarity and goes up with enchants
      */
     public int rarity;
 
-    // the range of enemy levels that can drop this item
-    public int minLevel;
-    public int maxLevel;
-
-    // item stats
-    // if hp is negative then its absolute value is the percentage hp that the item gives
-    // used to separate percentage hp from regular hp potions
-    public int hp = 0;
-    public int mhp = 0;
-    public int dmg = 0;
-    public int acc = 0;
-    public int sell = 0;
-    // potions can give exp (percentage)
-    public int exp = 0;
+    // item stats after level adjustment and enchants
+    public int mhp;
+    public int dmg;
+    public int sell;
 
     // an item's index in the inventory
     public int index;
@@ -112,116 +86,28 @@ public class Item {
     public int enchantCost;
     // percentage bonus enchant chance from scrolls
     public int bonusEnchantChance = 0;
-    // for enchant scrolls representing the bonus enchant percentage that the scroll gives
-    public int eChance = 0;
-
-    // rendering
-    public Image actor;
-    public int imgIndex;
-
-    /**
-     * For potions
-     * Only can be consumed for hp or sold for gold
-     *
-     * @param name
-     * @param desc
-     * @param rarity
-     * @param imgIndex for textureregion in spritesheet
-     * @param hp
-     * @param sell
-     */
-    public Item(ResourceManager rm, String name, String desc, int rarity, int imgIndex, int minLevel, int maxLevel, int hp, int exp, int sell) {
-        this.name = name;
-        this.desc = desc;
-        this.rarity = rarity;
-        this.imgIndex = imgIndex;
-        this.minLevel = minLevel;
-        this.maxLevel = maxLevel;
-        this.hp = hp;
-        this.exp = exp;
-        this.sell = sell;
-        type = 0;
-        actor = new Image(rm.items20x20[0][imgIndex]);
-        labelName = name;
-    }
 
-    /**
-     * For misc items
-     * Only can be sold for gold
-     *
-     * @param name
-     * @param desc
-     * @param rarity
-     * @param imgIndex
-     * @param sell
-     */
-    public Item(ResourceManager rm, String name, String desc, int rarity, int imgIndex, int minLevel, int maxLevel, int sell) {
-        this.name = name;
-        this.desc = desc;
-        this.rarity = rarity;
-        this.imgIndex = imgIndex;
-        this.minLevel = minLevel;
-        this.maxLevel = maxLevel;
-        this.sell = sell;
-        type = 1;
-        actor = new Image(rm.items20x20[1][imgIndex]);
-        labelName = name;
-    }
+    // rendering, created on first display
+    private Image actor;
 
-    /**
-     * For all types of equips
-     * Gives increased stats and can be sold for gold
-     *
-     * @param name
-     * @param desc
-     * @param type
-     * @param rarity
-     * @param imgIndex
-     * @param mhp
-     * @param dmg
-     * @param acc
-     * @param sell
-     */
-    public Item(ResourceManager rm, String name, String desc, int type, int rarity, int imgIndex, int minLevel, int maxLevel,
-                int mhp, int dmg, int acc, int sell) {
-        this.name = name;
-        this.desc = desc;
-        this.type = type;
-        this.rarity = rarity;
-        this.imgIndex = imgIndex;
-        this.minLevel = minLevel;
-        this.maxLevel = maxLevel;
-        this.mhp = mhp;
-        this.dmg = dmg;
-        this.acc = acc;
-        this.sell = sell;
-        actor = new Image(rm.items20x20[type][imgIndex]);
-        labelName = name;
+    public Item(ItemDefinition definition) {
+        this.definition = definition;
+        rarity = definition.rarity;
+        mhp = definition.mhp;
+        dmg = definition.dmg;
+        sell = definition.sell;
+        labelName = definition.name;
     }
 
     /**
-     * For enchant scrolls
+     * The actor displaying this item in the inventory or shop
+     * Catalog items and items that are never shown don't need one
      *
-     * @param rm
-     * @param name
-     * @param desc
-     * @param rarity
-     * @param imgIndex
-     * @param eChance
-     * @param sell
+     * @return
      */
-    public Item(ResourceManager rm, String name, String desc, int rarity, int imgIndex, int minLevel, int maxLevel, int eChance, int sell) {
-        this.name = name;
-        this.desc = desc;
-        this.rarity = rarity;
-        this.imgIndex = imgIndex;
-        this.minLevel = minLevel;
-        this.maxLevel = maxLevel;
-        this.eChance = eChance;
-        this.sell = sell;
-        type = 10;
-        actor = new Image(rm.items20x20[10][imgIndex]);
-        labelName = name;
+    public Image getActor() {
+        if (actor == null) actor = new Image(definition.sprite);
+        return actor;
     }
 
     /**
@@ -256,6 +142,11 @@ public class Item {
      * @return
      */
     public String getFullDesc() {
+        String desc = definition.desc;
+        int type = definition.type;
+        int hp = definition.hp;
+        int exp = definition.exp;
+        int acc = definition.acc;
         String ret = "";
         if (type == 0) {
             // percentage hp potions
@@ -273,7 +164,7 @@ public class Item {
             if (acc != 0) ret += "+" + acc + "% ACCURACY";
             if (bonusEnchantChance != 0) ret += "\n+" + bonusEnchantChance + "% BONUS ENCHANT CHANCE";
         } else if (type == 10) {
-            ret = desc + "\n+" + eChance + "% ENCHANT CHANCE";
+            ret = desc + "\n+" + definition.eChance + "% ENCHANT CHANCE";
             ret += "\n\ndrag onto an equip to use";
         }
         // remove newline from end of string if there is one
@@ -325,7 +216,7 @@ public class Item {
         if (enchants % 5 == 0) rarity++;
         if (rarity > 3) rarity = 3;
         // enchant number indicator
-        labelName = "+" + enchants + " " + name;
+        labelName = "+" + enchants + " " + definition.name;
     }
 
     /**
@@ -334,6 +225,7 @@ public class Item {
      * @return
      */
     public String getDialogName() {
+        String name = definition.name;
         String ret = "";
         switch (rarity) {
             case 0:
@@ -0,0 +1,131 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.inventory;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The immutable catalog data of an item, shared by every Item created from it.
+ * Stats here are the base stats before level adjustment and enchants.
+ */
+public class ItemDefinition {
+
+    // id and name displayed on tooltip
+    public final String name;
+    // for rendering onto tooltip
+    public final String desc;
+    // type of item
+    /**
+     * 0 - potion
+     * 1 - misc
+     * 2 - helmet
+     * 3 - armor
+     * 4 - weapon
+     * 5 - gloves
+     * 6 - shoes
+     * 7 - necklace
+     * 8 - shield
+     * 9 - ring
+     * 10 - enchant scroll
+     */
+    public final int type;
+    // rarity the item drops with
+    public final int rarity;
+    public final int imgIndex;
+
+    // the range of enemy levels that can drop this item
+    // shop items use both as the level they are sold at
+    public final int minLevel;
+    public final int maxLevel;
+
+    // base stats
+    // if hp is negative then its absolute value is the percentage hp that the item gives
+    public final int hp;
+    public final int mhp;
+    public final int dmg;
+    public final int acc;
+    public final int sell;
+    // potions can give exp (percentage)
+    public final int exp;
+    // for enchant scrolls representing the bonus enchant percentage that the scroll gives
+    public final int eChance;
+    // price in gold if the item is sold in the shop, 0 otherwise
+    public final int price;
+    // from the shop catalog, which has its own spritesheet and creates ShopItems
+    public final boolean shop;
+
+    // icon, only turned into an actor when an item is displayed
+    public final TextureRegion sprite;
+
+    public ItemDefinition(String name, String desc, int type, int rarity, int imgIndex, int minLevel, int maxLevel,
+                          int hp, int mhp, int dmg, int acc, int sell, int exp, int eChance, int price,
+                          boolean shop, TextureRegion sprite) {
+        this.name = name;
+        this.desc = desc;
+        this.type = type;
+        this.rarity = rarity;
+        this.imgIndex = imgIndex;
+        this.minLevel = minLevel;
+        this.maxLevel = maxLevel;
+        this.hp = hp;
+        this.mhp = mhp;
+        this.dmg = dmg;
+        this.acc = acc;
+        this.sell = sell;
+        this.exp = exp;
+        this.eChance = eChance;
+        this.price = price;
+        this.shop = shop;
+        this.sprite = sprite;
+    }
+
+    /**
+     * Creates a new instance of this item with base stats
+     *
+     * @return a ShopItem if the item is sold in the shop
+     */
+    public Item create() {
+        if (shop) return new ShopItem(this);
+        return new Item(this);
+    }
+
+}
@@ -63,32 +63,13 @@ public class Shop {
         // fill shop items with items
         for (int rarity = 0; rarity < rm.shopItems.size; rarity++) {
             for (int i = 0; i < rm.shopItems.get(rarity).size; i++) {
-                ShopItem item = rm.shopItems.get(rarity).get(i);
-                ShopItem shopItem;
-                // potions
-                if (item.type == 0) {
-                    shopItem = new ShopItem(rm, item.name, item.desc, item.rarity,
-                        item.imgIndex, item.minLevel, item.hp, item.exp, item.sell, item.price);
-                    items.get(0).add(shopItem);
-                }
+                ItemDefinition item = rm.shopItems.get(rarity).get(i);
+                // potions and enchant scrolls
+                if (item.type == 0 || item.type == 10) items.get(0).add(new ShopItem(item));
                 // equip
-                else if (item.type >= 2 && item.type <= 6) {
-                    shopItem = new ShopItem(rm, item.name, item.desc, item.type, item.rarity, item.imgIndex,
-                        item.minLevel, item.mhp, item.dmg, item.acc, item.sell, item.price);
-                    items.get(1).add(shopItem);
-                }
+                else if (item.type >= 2 && item.type <= 6) items.get(1).add(new ShopItem(item));
                 // accs
-                else if (item.type >= 7 && item.type <= 9) {
-                    shopItem = new ShopItem(rm, item.name, item.desc, item.type, item.rarity, item.imgIndex,
-                        item.minLevel, item.mhp, item.dmg, item.acc, item.sell, item.price);
-                    items.get(2).add(shopItem);
-                }
-                // enchant scrolls
-                else if (item.type == 10) {
-                    shopItem = new ShopItem(rm, item.name, item.desc, item.rarity, item.imgIndex, item.minLevel,
-                        item.eChance, item.sell, item.price);
-                    items.get(0).add(shopItem);
-                }
+                else if (item.type >= 7 && item.type <= 9) items.get(2).add(new ShopItem(item));
             }
         }
     }
@@ -0,0 +1,194 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Hides the tiles of a map the player has not been near yet.
+ *
+ * Revealed tiles are one bit per cell. Each reveal only patches the
+ * rectangle around the player into a small pixmap that is uploaded at
+ * its offset in a texture with one texel per tile, so revealing never
+ * allocates and never resends the whole map. A one tile step only tests
+ * the edge of the disc that just came into range.
+ */
+public class FogOfWar implements Disposable {
+
+    // distance in tiles the player can see
+    public static final int RADIUS = 4;
+
+    private final TileMap tileMap;
+    private final int width;
+    private final int height;
+
+    private final Bits revealed;
+    private int lastCell = -1;
+    // half width of the disc at each row distance from its center
+    private final int[] span = new int[RADIUS + 1];
+
+    // the reveal rectangle, uploaded as a sub image
+    private final Pixmap patch;
+    private final int patchWidth;
+    private final int patchHeight;
+    private final Texture texture;
+
+    public FogOfWar(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.width = tileMap.mapWidth;
+        this.height = tileMap.mapHeight;
+
+        revealed = new Bits(width * height);
+        for (int d = 0; d <= RADIUS; d++) {
+            int o = 0;
+            while ((o + 1) * (o + 1) + d * d <= RADIUS * RADIUS) o++;
+            span[d] = o;
+        }
+
+        // everything starts hidden
+        Pixmap fog = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        fog.setColor(0, 0, 0, 1);
+        fog.fill();
+        texture = new Texture(fog);
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        fog.dispose();
+
+        // clamped to the map so the patch always fits inside the texture
+        patchWidth = Math.min(RADIUS * 2 + 1, width);
+        patchHeight = Math.min(RADIUS * 2 + 1, height);
+        patch = new Pixmap(patchWidth, patchHeight, Pixmap.Format.RGBA8888);
+        patch.setBlending(Pixmap.Blending.None);
+    }
+
+    /**
+     * Reveals the tiles around a cell, doing nothing if the cell was the last one revealed
+     *
+     * @param cell
+     */
+    public void reveal(int cell) {
+        if (cell == lastCell) return;
+        int prev = lastCell;
+        lastCell = cell;
+
+        int cx = cell % width;
+        int cy = cell / width;
+        boolean changed = false;
+        if (prev != -1 && Math.abs(prev % width - cx) + Math.abs(prev / width - cy) == 1) {
+            // one tile step, only the leading edge of the disc is new
+            int sx = cx - prev % width;
+            int sy = cy - prev / width;
+            for (int o = -RADIUS; o <= RADIUS; o++) {
+                int edge = span[Math.abs(o)];
+                if (sx != 0) changed |= reveal(cx + sx * edge, cy + o);
+                else changed |= reveal(cx + o, cy + sy * edge);
+            }
+        }
+        else {
+            // first reveal or a teleport, test the whole disc
+            for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+                int edge = span[Math.abs(dy)];
+                for (int dx = -edge; dx <= edge; dx++) changed |= reveal(cx + dx, cy + dy);
+            }
+        }
+        if (changed) upload(cx, cy);
+    }
+
+    /**
+     * Marks a tile as seen, returning true if it was hidden before
+     */
+    private boolean reveal(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return false;
+        return !revealed.getAndSet(y * width + x);
+    }
+
+    /**
+     * Has the player seen the tile at a cell?
+     *
+     * @param cell
+     * @return
+     */
+    public boolean isRevealed(int cell) {
+        return revealed.get(cell);
+    }
+
+    /**
+     * Writes the patch around the player from the revealed bits and uploads it
+     */
+    private void upload(int cx, int cy) {
+        // the patch may be shifted inwards at the edges of the map
+        int px = Math.max(0, Math.min(cx - RADIUS, width - patchWidth));
+        int py = Math.max(0, Math.min(cy - RADIUS, height - patchHeight));
+        for (int y = 0; y < patchHeight; y++) {
+            for (int x = 0; x < patchWidth; x++) {
+                boolean seen = revealed.get((py + y) * width + px + x);
+                // pixmap rows go top down while map rows go bottom up
+                patch.drawPixel(x, patchHeight - 1 - y, seen ? 0 : 0xff);
+            }
+        }
+        texture.draw(patch, px, height - py - patchHeight);
+    }
+
+    /**
+     * One texel per tile, opaque where the tile is still hidden
+     *
+     * @return
+     */
+    public Texture getTexture() {
+        return texture;
+    }
+
+    public void render(SpriteBatch batch) {
+        batch.draw(texture, tileMap.origin.x, tileMap.origin.y,
+            width * tileMap.tileSize, height * tileMap.tileSize);
+    }
+
+    @Override
+    public void dispose() {
+        texture.dispose();
+        patch.dispose();
+    }
+
+}
@@ -50,13 +50,15 @@ import com.anyicomplex.unlucky.inventory.Item;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.resource.Util;
 import com.anyicomplex.unlucky.screen.GameScreen;
+import com.anyicomplex.unlucky.util.Disposer;
+import com.anyicomplex.unlucky.util.FrameProfiler;
 import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Stores a tile map and the player configured with map
@@ -69,7 +71,7 @@ import com.badlogic.gdx.utils.Array;
  *
  * @author Ming Li
  */
-public class GameMap {
+public class GameMap implements Disposable {
 
     // composite id
     public int worldIndex;
@@ -87,10 +89,12 @@ public class GameMap {
     private ResourceManager rm;
 
     public boolean renderLight;
+    // shade over dark maps, null on lit maps
+    private LightMap lightMap;
     private float lightningTime = 0;
     private float durationTime = 0;
 
-    // music
+    // music, null once the world's audio is released and fetched again by init
     public Music mapTheme;
     // sfx
     public long soundId;
@@ -106,12 +110,46 @@ public class GameMap {
     // to fix screen switching bug
     private boolean switchable = true;
 
+    // reads the next map while the level select screen fades out
+    private MapPreloader preloader = new MapPreloader();
+
+    private FrameProfiler profiler;
+
     public GameMap(GameScreen gameScreen, Player player, ResourceManager rm) {
         this.gameScreen = gameScreen;
         this.player = player;
         this.rm = rm;
         itemsObtained = new Array<Item>();
         particleFactory = new ParticleFactory(gameScreen.getCamera(), rm);
+        profiler = gameScreen.getGame().profiler;
+    }
+
+    /**
+     * Starts reading a map in the background before it is entered
+     *
+     * @param worldIndex
+     * @param levelIndex
+     */
+    public void preload(int worldIndex, int levelIndex) {
+        preloader.preload(worldIndex, levelIndex);
+    }
+
+    /**
+     * The cache of parsed maps, exposing its hit and miss counts
+     *
+     * @return
+     */
+    public MapCache getMapCache() {
+        return preloader.getCache();
+    }
+
+    /**
+     * The fog of the current map or null if the fog of war is turned off
+     *
+     * @return
+     */
+    public FogOfWar getFogOfWar() {
+        return tileMap == null ? null : tileMap.getFogOfWar();
     }
 
     /**
@@ -124,9 +162,8 @@ public class GameMap {
         this.levelIndex = levelIndex;
         this.avgLevel = rm.worlds.get(worldIndex).levels[levelIndex].avgLevel;
 
-        if (worldIndex == 0) mapTheme = rm.slimeForestTheme;
-        else if (worldIndex == 1) mapTheme = rm.spookyGraveyardTheme;
-        else if (worldIndex == 2) mapTheme = rm.frostyCaveTheme;
+        // usually already loaded since the level select acquired the world's audio
+        mapTheme = rm.getWorldTheme(worldIndex);
 
         // reset
         itemsObtained.clear();
@@ -136,7 +173,11 @@ public class GameMap {
         player.completedMap = false;
         player.getAm().setAnimation(0);
 
-        tileMap = new TileMap(16, "maps/w" + worldIndex + "_l" + levelIndex + ".txt", new Vector2(0, 0), rm);
+        // the map data is usually already parsed by the preloader
+        Disposer.dispose(tileMap);
+        tileMap = new TileMap(16, preloader.get(worldIndex, levelIndex), new Vector2(0, 0), rm);
+        if (player.settings.cacheStaticTiles) tileMap.enableStaticCache();
+        if (player.settings.fogOfWar) tileMap.enableFogOfWar();
         // set lighting
         setDarkness(tileMap.dark);
         // set weather
@@ -198,6 +239,8 @@ public class GameMap {
     public void setDarkness(boolean isDark) {
         this.isDark = isDark;
         renderLight = isDark;
+        Disposer.dispose(lightMap);
+        lightMap = isDark ? new LightMap(tileMap) : null;
     }
 
     /**
@@ -206,8 +249,7 @@ public class GameMap {
      */
     public void setDeath() {
         if (weather != WeatherType.NORMAL) {
-            rm.lightrain.stop();
-            rm.heavyrain.stop();
+            rm.stopRain();
         }
 
         // gold and exp lost
@@ -218,10 +260,10 @@ public class GameMap {
             for (int i = 0; i < itemsObtained.size; i++) {
                 Item item = itemsObtained.get(i);
                 if (i == itemsObtained.size - 1) {
-                    itemText += item.name + ".\n\nClick to continue...";
+                    itemText += item.definition.name + ".\n\nClick to continue...";
                     break;
                 }
-                itemText += item.name + ", ";
+                itemText += item.definition.name + ", ";
             }
         }
         String deathText = "You lost " + goldLost + " G and " + expLost + " EXP.\n" +
@@ -251,8 +293,7 @@ public class GameMap {
             mapTheme.pause();
             if (!player.settings.muteMusic) rm.battlestart.play(player.settings.musicVolume);
             if (weather != WeatherType.NORMAL) {
-                rm.lightrain.stop(soundId);
-                rm.heavyrain.stop(soundId);
+                rm.stopRain(soundId);
             }
             gameScreen.setCurrentEvent(EventState.TRANSITION);
             gameScreen.transition.start(EventState.MOVING, EventState.BATTLING);
@@ -261,11 +302,11 @@ public class GameMap {
         if (player.isTileInteraction()) {
             gameScreen.hud.toggle(false);
             gameScreen.setCurrentEvent(EventState.TILE_EVENT);
-            if (player.getCurrentTile().isQuestionMark()) {
+            if (player.getCurrentTileType() == Tile.QUESTION_MARK) {
                 player.stats.numQuestionTiles++;
                 gameScreen.dialog.startDialog(player.getQuestionMarkDialog(avgLevel, this), EventState.MOVING, EventState.MOVING);
             }
-            else if (player.getCurrentTile().isExclamationMark()) {
+            else if (player.getCurrentTileType() == Tile.EXCLAMATION_MARK) {
                 player.stats.numExclamTiles++;
                 gameScreen.dialog.startDialog(player.getExclamDialog(avgLevel, this), EventState.MOVING, EventState.MOVING);
             }
@@ -298,8 +339,7 @@ public class GameMap {
                 }
             }
             if (weather != WeatherType.NORMAL) {
-                rm.lightrain.stop(soundId);
-                rm.heavyrain.stop(soundId);
+                rm.stopRain(soundId);
             }
             player.stats.numDungeonsWon++;
             player.stats.goldGainedFromMaps += goldObtained;
@@ -324,49 +364,94 @@ public class GameMap {
         }
 
         // update particles
-        if (weather != WeatherType.NORMAL) particleFactory.update(dt);
-        if (weather == WeatherType.THUNDERSTORM) lightningTime += dt;
+        if (weather != WeatherType.NORMAL) {
+            profiler.begin(FrameProfiler.PARTICLES);
+            particleFactory.update(dt);
+            profiler.end(FrameProfiler.PARTICLES);
+        }
+        if (weather == WeatherType.THUNDERSTORM) updateLightning(dt);
     }
 
     private boolean sfxPlayed = false;
 
-    public void render(float dt, SpriteBatch batch, OrthographicCamera cam) {
-        tileMap.renderBottomLayer(batch, cam);
+    /**
+     * Times the flash of lightning every 7 seconds
+     *
+     * @param dt
+     */
+    private void updateLightning(float dt) {
+        lightningTime += dt;
+        if (lightningTime < 7) return;
+        durationTime += dt;
+        if (durationTime < 0.2f) {
+            if (isDark) renderLight = false;
+            if (!player.settings.muteSfx && !sfxPlayed) {
+                rm.thunder.play(player.settings.sfxVolume);
+                sfxPlayed = true;
+            }
+        }
+        else {
+            lightningTime = 0;
+            durationTime = 0;
+            sfxPlayed = false;
+            if (isDark) renderLight = true;
+        }
+    }
 
-        player.render(batch);
+    /**
+     * Renders the map with the player drawn at a render position,
+     * game logic keeps using the player's own position
+     *
+     * @param dt
+     * @param batch
+     * @param cam
+     * @param playerPosition
+     */
+    public void render(float dt, SpriteBatch batch, OrthographicCamera cam, Vector2 playerPosition) {
+        profiler.begin(FrameProfiler.TILE_MAP);
+        tileMap.setView(cam);
+        tileMap.renderBottomLayer(batch);
+        profiler.end(FrameProfiler.TILE_MAP);
+
+        player.render(batch, playerPosition);
 
-        tileMap.render(batch, cam);
-        tileMap.renderTopLayer(batch, cam);
+        profiler.begin(FrameProfiler.TILE_MAP);
+        tileMap.render(batch);
+        tileMap.renderTopLayer(batch);
+        profiler.end(FrameProfiler.TILE_MAP);
 
         // render particles
-        if (weather != WeatherType.NORMAL) particleFactory.render(batch);
-
-        if (weather == WeatherType.THUNDERSTORM) {
-            // render flash of white lightning
-            if (lightningTime >= 7) {
-                durationTime += dt;
-                if (durationTime < 0.2f) {
-                    if (isDark) renderLight = false;
-                    if (!player.settings.muteSfx && !sfxPlayed) {
-                        rm.thunder.play(player.settings.sfxVolume);
-                        sfxPlayed = true;
-                    }
-                    batch.draw(rm.lightning, player.getPosition().x - 182, player.getPosition().y - 102);
-                }
-                if (durationTime > 0.2f) {
-                    lightningTime = 0;
-                    durationTime = 0;
-                    sfxPlayed = false;
-                    if (isDark) renderLight = true;
-                }
-            }
+        if (weather != WeatherType.NORMAL) {
+            profiler.begin(FrameProfiler.PARTICLES);
+            particleFactory.render(batch);
+            profiler.end(FrameProfiler.PARTICLES);
+        }
+
+        // render flash of white lightning
+        if (weather == WeatherType.THUNDERSTORM && lightningTime >= 7) {
+            batch.draw(rm.lightning, player.getPosition().x - 182, player.getPosition().y - 102);
         }
 
         if (renderLight) {
-            batch.setBlendFunction(GL20.GL_DST_COLOR, GL20.GL_ONE_MINUS_SRC_ALPHA);
-            batch.draw(rm.darkness, player.getPosition().x - 182, player.getPosition().y - 102);
-            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            lightMap.setPlayer(getPlayerCell());
+            lightMap.render(batch);
         }
+        if (tileMap.getFogOfWar() != null) tileMap.getFogOfWar().render(batch);
+    }
+
+    /**
+     * The cell of the tile the player is mostly on
+     *
+     * @return
+     */
+    private int getPlayerCell() {
+        float half = tileMap.tileSize / 2;
+        return tileMap.toCell(player.getPosition().x + half, player.getPosition().y + half);
+    }
+
+    @Override
+    public void dispose() {
+        Disposer.dispose(tileMap, lightMap, preloader);
     }
 
 }
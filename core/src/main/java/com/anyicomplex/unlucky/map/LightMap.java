@@ -0,0 +1,252 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Per tile light levels of a dark map.
+ *
+ * Light spreads from each source by flood fill, losing one level per tile
+ * and stopping at blocked tiles. Static sources are filled once, the
+ * player's light is refilled only when the player enters another tile.
+ * The levels are written into a texture with one texel per tile that is
+ * stretched over the map in a single draw.
+ */
+public class LightMap implements Disposable {
+
+    // light level of a source, a tile is fully lit at this level
+    public static final int MAX_LIGHT = 6;
+    // opacity of the shade over an unlit tile
+    private static final float DARKNESS = 0.92f;
+
+    private final TileMap tileMap;
+    private final int width;
+    private final int height;
+
+    // light from tiles that never move
+    private final byte[] staticLight;
+    // light from the player
+    private final byte[] playerLight;
+    private int playerCell = -1;
+
+    // flood fill queue reused by every fill
+    private final int[] queue;
+
+    // cells whose level changed since the last upload, as a bounding box
+    private int dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+    private boolean dirty;
+
+    private final Pixmap pixmap;
+    private final Texture texture;
+
+    public LightMap(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.width = tileMap.mapWidth;
+        this.height = tileMap.mapHeight;
+
+        staticLight = new byte[width * height];
+        playerLight = new byte[width * height];
+        queue = new int[width * height];
+
+        pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+        texture = new Texture(pixmap);
+        // blends the light between tile centers
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+
+        // teleport and end tiles glow
+        addLights(tileMap.getCells(Tile.TELEPORT), MAX_LIGHT - 2);
+        addLights(tileMap.getCells(Tile.END), MAX_LIGHT - 2);
+        markDirty(0, 0, width - 1, height - 1);
+    }
+
+    private void addLights(IntArray cells, int level) {
+        for (int i = 0; i < cells.size; i++) fill(staticLight, cells.get(i), level);
+    }
+
+    /**
+     * Adds a static light source
+     *
+     * @param cell
+     * @param level between 1 and MAX_LIGHT
+     */
+    public void addLight(int cell, int level) {
+        fill(staticLight, cell, level);
+        int r = level - 1;
+        markDirty(cell % width - r, cell / width - r, cell % width + r, cell / width + r);
+    }
+
+    /**
+     * Moves the player's light to a cell, refilling only the tiles around
+     * the previous and new cell
+     *
+     * @param cell
+     */
+    public void setPlayer(int cell) {
+        if (cell == playerCell) return;
+        int r = MAX_LIGHT - 1;
+        if (playerCell != -1) {
+            int px = playerCell % width;
+            int py = playerCell / width;
+            clear(playerLight, px - r, py - r, px + r, py + r);
+            markDirty(px - r, py - r, px + r, py + r);
+        }
+        playerCell = cell;
+        fill(playerLight, cell, MAX_LIGHT);
+        markDirty(cell % width - r, cell / width - r, cell % width + r, cell / width + r);
+    }
+
+    /**
+     * Light level of a cell from every source
+     *
+     * @param cell
+     * @return
+     */
+    public int getLight(int cell) {
+        return Math.max(staticLight[cell], playerLight[cell]);
+    }
+
+    /**
+     * Draws the shade over the whole map, uploading the changed levels first
+     *
+     * @param batch
+     */
+    public void render(SpriteBatch batch) {
+        if (dirty) upload();
+        batch.draw(texture, tileMap.origin.x, tileMap.origin.y,
+            width * tileMap.tileSize, height * tileMap.tileSize);
+    }
+
+    /**
+     * Breadth first flood fill from a source keeping the brightest level of each cell
+     */
+    private void fill(byte[] light, int source, int level) {
+        if (light[source] >= level) return;
+        light[source] = (byte) level;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = light[cell] - 1;
+            if (next <= 0) continue;
+            int x = cell % width;
+            int y = cell / width;
+            // blocked tiles are lit but stop the light
+            if (cell != source && tileMap.isBlocked(x, y)) continue;
+            if (x > 0 && light[cell - 1] < next) {
+                light[cell - 1] = (byte) next;
+                queue[tail++] = cell - 1;
+            }
+            if (x < width - 1 && light[cell + 1] < next) {
+                light[cell + 1] = (byte) next;
+                queue[tail++] = cell + 1;
+            }
+            if (y > 0 && light[cell - width] < next) {
+                light[cell - width] = (byte) next;
+                queue[tail++] = cell - width;
+            }
+            if (y < height - 1 && light[cell + width] < next) {
+                light[cell + width] = (byte) next;
+                queue[tail++] = cell + width;
+            }
+        }
+    }
+
+    private void clear(byte[] light, int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(minX, 0);
+        minY = Math.max(minY, 0);
+        maxX = Math.min(maxX, width - 1);
+        maxY = Math.min(maxY, height - 1);
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) light[y * width + x] = 0;
+        }
+    }
+
+    private void markDirty(int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(minX, 0);
+        minY = Math.max(minY, 0);
+        maxX = Math.min(maxX, width - 1);
+        maxY = Math.min(maxY, height - 1);
+        if (!dirty) {
+            dirtyMinX = minX;
+            dirtyMinY = minY;
+            dirtyMaxX = maxX;
+            dirtyMaxY = maxY;
+            dirty = true;
+        } else {
+            dirtyMinX = Math.min(dirtyMinX, minX);
+            dirtyMinY = Math.min(dirtyMinY, minY);
+            dirtyMaxX = Math.max(dirtyMaxX, maxX);
+            dirtyMaxY = Math.max(dirtyMaxY, maxY);
+        }
+    }
+
+    /**
+     * Rewrites the changed texels and sends the pixmap to the texture
+     */
+    private void upload() {
+        for (int y = dirtyMinY; y <= dirtyMaxY; y++) {
+            for (int x = dirtyMinX; x <= dirtyMaxX; x++) {
+                int level = getLight(y * width + x);
+                int alpha = (int) (255 * DARKNESS * (MAX_LIGHT - level) / MAX_LIGHT);
+                // black shade, only the alpha channel varies
+                // pixmap rows go top down while map rows go bottom up
+                pixmap.drawPixel(x, height - 1 - y, alpha);
+            }
+        }
+        texture.draw(pixmap, 0, 0);
+        dirty = false;
+    }
+
+    @Override
+    public void dispose() {
+        texture.dispose();
+        pixmap.dispose();
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A bounded least recently used cache of parsed maps keyed by world and level,
+ * so replaying a map doesn't read and parse its file again.
+ *
+ * Cached MapData is shared by every TileMap created from it and must not be modified.
+ */
+public class MapCache {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final int capacity;
+
+    // most recently used first
+    private final IntArray keys;
+    private final Array<MapData> maps;
+
+    private int hits;
+    private int misses;
+
+    public MapCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MapCache(int capacity) {
+        this.capacity = capacity;
+        keys = new IntArray(capacity);
+        maps = new Array<MapData>(capacity);
+    }
+
+    /**
+     * Returns a cached map and marks it as the most recently used
+     *
+     * @param worldIndex
+     * @param levelIndex
+     * @return null if the map is not cached
+     */
+    public MapData get(int worldIndex, int levelIndex) {
+        int i = keys.indexOf(getKey(worldIndex, levelIndex));
+        if (i == -1) {
+            misses++;
+            return null;
+        }
+        hits++;
+        if (i > 0) {
+            keys.insert(0, keys.removeIndex(i));
+            maps.insert(0, maps.removeIndex(i));
+        }
+        return maps.first();
+    }
+
+    /**
+     * Whether a map is cached, without counting a hit or miss
+     *
+     * @param worldIndex
+     * @param levelIndex
+     * @return
+     */
+    public boolean contains(int worldIndex, int levelIndex) {
+        return keys.contains(getKey(worldIndex, levelIndex));
+    }
+
+    /**
+     * Adds a map as the most recently used, evicting the least recently used map when full
+     *
+     * @param worldIndex
+     * @param levelIndex
+     * @param data
+     */
+    public void put(int worldIndex, int levelIndex, MapData data) {
+        int key = getKey(worldIndex, levelIndex);
+        int i = keys.indexOf(key);
+        if (i != -1) {
+            keys.removeIndex(i);
+            maps.removeIndex(i);
+        }
+        else if (keys.size == capacity) {
+            keys.pop();
+            maps.pop();
+        }
+        keys.insert(0, key);
+        maps.insert(0, data);
+    }
+
+    public void clear() {
+        keys.clear();
+        maps.clear();
+    }
+
+    public int size() {
+        return keys.size;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private static int getKey(int worldIndex, int levelIndex) {
+        return (worldIndex << 16) | levelIndex;
+    }
+
+}
@@ -0,0 +1,301 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.anyicomplex.unlucky.util.PlatformSupport;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The parsed content of a map file, holding only tile ids so it can be read
+ * off the render thread. TileMap binds it to TextureRegions, animations and Entities.
+ *
+ * Layers use the same cell order and values as MapFormat.
+ * A MapData is a template that TileMap copies from and never modifies,
+ * so it can be cached and shared between plays of a map.
+ */
+public class MapData {
+
+    public int mapWidth;
+    public int mapHeight;
+    public int spawnX;
+    public int spawnY;
+    public boolean dark;
+    public int weather;
+    public boolean hasTopLayer;
+
+    // tile ids by cell, -1 for no tile
+    public short[] bottomLayer;
+    // tile ids by cell, or one of the MapFormat CELL_ constants
+    public short[] tileLayer;
+    // null if there is no top layer
+    public short[] topLayer;
+
+    // (cell, animIndex, numFrames, framesPerSecond) of each animated tile
+    public int numAnimated;
+    public int[] animated;
+    // (cell, entityID) of each Entity
+    public int numEntities;
+    public int[] entities;
+
+    /**
+     * Returns the file of a (world, level) key,
+     * preferring the compiled map and falling back to the text map
+     *
+     * @param worldIndex
+     * @param levelIndex
+     * @return
+     */
+    public static FileHandle getMapFile(int worldIndex, int levelIndex) {
+        String path = MapFormat.getMapPath(worldIndex, levelIndex);
+        FileHandle compiledMap = Gdx.files.internal(path + MapFormat.COMPILED_EXTENSION);
+        if (compiledMap.exists()) return compiledMap;
+        return Gdx.files.internal(path + MapFormat.TEXT_EXTENSION);
+    }
+
+    /**
+     * Reads a compiled or text map file
+     *
+     * @param file
+     * @return
+     */
+    public static MapData read(FileHandle file) {
+        if (file.path().endsWith(MapFormat.COMPILED_EXTENSION)) return read(PlatformSupport.readBuffer(file), file.path());
+        return parse(file.readString(), file.path());
+    }
+
+    /**
+     * Reads only the weather of a compiled or text map from its header
+     *
+     * @param file
+     * @return
+     */
+    public static int readWeather(FileHandle file) {
+        if (file.path().endsWith(MapFormat.COMPILED_EXTENSION)) {
+            byte[] header = new byte[MapFormat.HEADER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+            if (file.readBytes(header, 0, header.length) != header.length ||
+                buffer.getInt() != MapFormat.MAGIC || buffer.getShort() != MapFormat.VERSION) {
+                throw new GdxRuntimeException("Unsupported compiled map: " + file.path());
+            }
+            return header[MapFormat.WEATHER_OFFSET];
+        }
+        // the weather is the sixth line of a text map
+        BufferedReader reader = file.reader(256);
+        try {
+            for (int i = 0; i < 5; i++) reader.readLine();
+            return Integer.parseInt(reader.readLine().trim());
+        }
+        catch (IOException e) {
+            throw new GdxRuntimeException("Error reading map: " + file.path(), e);
+        }
+        finally {
+            StreamUtils.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Reads a map compiled into the binary format described in MapFormat
+     * The layers are read straight from the buffer without creating any Strings
+     *
+     * @param buffer
+     * @param name used for error messages
+     * @return
+     */
+    public static MapData read(ByteBuffer buffer, String name) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt() != MapFormat.MAGIC || buffer.getShort() != MapFormat.VERSION) {
+            throw new GdxRuntimeException("Unsupported compiled map: " + name);
+        }
+        MapData data = new MapData();
+        data.mapWidth = buffer.getShort();
+        data.mapHeight = buffer.getShort();
+        data.spawnX = buffer.getShort();
+        data.spawnY = buffer.getShort();
+        data.dark = buffer.get() == 1;
+        data.weather = buffer.get();
+        data.hasTopLayer = buffer.get() == 1;
+        buffer.get();
+
+        int size = data.mapWidth * data.mapHeight;
+        data.bottomLayer = readLayer(buffer, size);
+        data.tileLayer = readLayer(buffer, size);
+        if (data.hasTopLayer) data.topLayer = readLayer(buffer, size);
+
+        data.numAnimated = buffer.getInt();
+        data.animated = new int[data.numAnimated * 4];
+        for (int i = 0; i < data.numAnimated; i++) {
+            data.animated[i * 4] = buffer.getInt();
+            data.animated[i * 4 + 1] = buffer.get();
+            data.animated[i * 4 + 2] = buffer.get();
+            data.animated[i * 4 + 3] = buffer.get();
+        }
+
+        data.numEntities = buffer.getInt();
+        data.entities = new int[data.numEntities * 2];
+        for (int i = 0; i < data.numEntities; i++) {
+            data.entities[i * 2] = buffer.getInt();
+            data.entities[i * 2 + 1] = buffer.getShort();
+        }
+        return data;
+    }
+
+    private static short[] readLayer(ByteBuffer buffer, int size) {
+        short[] layer = new short[size];
+        for (int k = 0; k < size; k++) layer[k] = buffer.getShort();
+        return layer;
+    }
+
+    /**
+     * Parses the content of a text map in the format described in TileMap
+     *
+     * @param mapInfo
+     * @param name used for error messages
+     * @return
+     */
+    public static MapData parse(String mapInfo, String name) {
+        // split string by newlines
+        String[] lines = mapInfo.split("\\r?\\n");
+
+        MapData data = new MapData();
+        data.mapWidth = Integer.parseInt(lines[0].trim());
+        data.mapHeight = Integer.parseInt(lines[1].trim());
+        if (data.mapWidth > Short.MAX_VALUE || data.mapHeight > Short.MAX_VALUE)
+            throw new GdxRuntimeException(name + ": map is too large");
+        data.spawnX = Integer.parseInt(lines[2].trim());
+        data.spawnY = Integer.parseInt(lines[3].trim());
+        data.dark = Integer.parseInt(lines[4].trim()) == 1;
+        data.weather = Integer.parseInt(lines[5].trim());
+
+        int size = data.mapWidth * data.mapHeight;
+        String[] bottom = splitLayer(lines, 6, data.mapWidth, data.mapHeight);
+        String[] tiles = splitLayer(lines, data.mapHeight + 6, data.mapWidth, data.mapHeight);
+        data.hasTopLayer = Integer.parseInt(lines[2 * data.mapHeight + 6].trim()) == 1;
+
+        // index of -1 is no tile
+        data.bottomLayer = new short[size];
+        for (int k = 0; k < size; k++) data.bottomLayer[k] = (short) (Integer.parseInt(bottom[k]) - 1);
+
+        if (data.hasTopLayer) {
+            String[] top = splitLayer(lines, 2 * data.mapHeight + 7, data.mapWidth, data.mapHeight);
+            data.topLayer = new short[size];
+            for (int k = 0; k < size; k++) data.topLayer[k] = (short) (Integer.parseInt(top[k]) - 1);
+        }
+
+        // resolve the tile layer into tile ids, animated tiles and entities
+        data.tileLayer = new short[size];
+        int[] animated = new int[size * 4];
+        int[] entities = new int[size * 2];
+        for (int k = 0; k < size; k++) {
+            String cell = tiles[k];
+            // an Entity is placed on an empty tile
+            if (cell.startsWith("e")) {
+                data.tileLayer[k] = MapFormat.CELL_ENTITY;
+                entities[data.numEntities * 2] = k;
+                entities[data.numEntities * 2 + 1] = Integer.parseInt(cell.substring(1));
+                data.numEntities++;
+                continue;
+            }
+            int[] anim = cell.startsWith("a") ? parseAnimation(cell) : MapFormat.getAnimatedTile(Integer.parseInt(cell));
+            if (anim != null) {
+                data.tileLayer[k] = MapFormat.CELL_ANIMATED;
+                animated[data.numAnimated * 4] = k;
+                System.arraycopy(anim, 0, animated, data.numAnimated * 4 + 1, 3);
+                data.numAnimated++;
+            }
+            else {
+                data.tileLayer[k] = (short) (Integer.parseInt(cell) - 1);
+            }
+        }
+        data.animated = new int[data.numAnimated * 4];
+        System.arraycopy(animated, 0, data.animated, 0, data.animated.length);
+        data.entities = new int[data.numEntities * 2];
+        System.arraycopy(entities, 0, data.entities, 0, data.entities.length);
+
+        return data;
+    }
+
+    /**
+     * Splits mapHeight rows starting at a given line into cells ordered like TileMap,
+     * where the first line of the layer is the top row of the map
+     *
+     * @param lines
+     * @param start
+     * @param mapWidth
+     * @param mapHeight
+     * @return
+     */
+    private static String[] splitLayer(String[] lines, int start, int mapWidth, int mapHeight) {
+        String[] cells = new String[mapWidth * mapHeight];
+        for (int i = start; i < start + mapHeight; i++) {
+            String[] row = lines[i].split(",");
+            for (int j = 0; j < mapWidth; j++) {
+                int k = (mapWidth * mapHeight - 1) - ((i - start) * mapWidth + j);
+                // remove all whitespace from text so the map files can be more readable with spaces
+                cells[k] = row[row.length - 1 - j].replaceAll(" ", "");
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Parses an explicit animated tile in the format a[animIndex]|[numFrames]|[framesPerSecond]
+     *
+     * @param cell
+     * @return
+     */
+    private static int[] parseAnimation(String cell) {
+        String[] trivalue = cell.substring(1).split("\\|");
+        return new int[] {
+            Integer.parseInt(trivalue[0]), Integer.parseInt(trivalue[1]), Integer.parseInt(trivalue[2])
+        };
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+/**
+ * Describes the compiled binary map format (.umap) produced from the text maps
+ * at build time by the map compiler and read back by MapData.
+ *
+ * All values are little-endian and every layer is stored fixed-width in the same
+ * cell order as TileMap (row 0 is the bottom row of the map):
+ *
+ * int magic ("UMAP")
+ * short version
+ * short mapWidth
+ * short mapHeight
+ * short playerSpawn.x
+ * short playerSpawn.y
+ * byte light (0 - daytime, 1 - nighttime)
+ * byte weather
+ * byte topLayer (0 - no top layer, 1 - top layer)
+ * byte reserved
+ * short[mapWidth * mapHeight] bottomLayer (tileID, -1 for no tile)
+ * short[mapWidth * mapHeight] tileMap (tileID, or one of the CELL_ constants)
+ * (if top layer)
+ * short[mapWidth * mapHeight] topLayer (tileID, -1 for no tile)
+ * int numAnimatedTiles
+ * numAnimatedTiles * (int cell, byte animIndex, byte numFrames, byte framesPerSecond)
+ * int numEntities
+ * numEntities * (int cell, short entityID)
+ *
+ * This class must not depend on libGDX so the map compiler can use it at build time.
+ */
+public class MapFormat {
+
+    // "UMAP" read as a little-endian int
+    public static final int MAGIC = 0x50414D55;
+    public static final short VERSION = 1;
+
+    public static final String TEXT_EXTENSION = ".txt";
+    public static final String COMPILED_EXTENSION = ".umap";
+
+    public static final int HEADER_SIZE = 18;
+    // byte offset of the weather in the header
+    public static final int WEATHER_OFFSET = 15;
+
+    // special values of a tileMap cell
+    public static final short CELL_EMPTY = -1;
+    public static final short CELL_ANIMATED = -2;
+    public static final short CELL_ENTITY = -3;
+
+    // text map tile ids that are converted into animated tiles
+    private static final int[] ANIMATED_TILE_IDS = {
+        64, 80, 96, 112, 128, 144, 160, 176, 192, 208, 224, 240, 63, 79, 94, 95
+    };
+    // the [animIndex, numFrames, framesPerSecond] of each converted id
+    private static final int[][] ANIMATED_TILES = {
+        { 3, 2, 2 }, { 4, 4, 3 }, { 5, 2, 2 }, { 6, 3, 3 }, { 7, 3, 3 }, { 8, 3, 3 },
+        { 9, 3, 3 }, { 10, 2, 2 }, { 0, 2, 2 }, { 1, 2, 2 }, { 2, 4, 3 }, { 11, 3, 3 },
+        { 12, 2, 2 }, { 13, 6, 4 }, { 14, 2, 2 }, { 14, 2, 2 }
+    };
+
+    /**
+     * Returns the animation of a text map tile id
+     *
+     * @param id
+     * @return [animIndex, numFrames, framesPerSecond] or null if the tile is not animated
+     */
+    public static int[] getAnimatedTile(int id) {
+        for (int i = 0; i < ANIMATED_TILE_IDS.length; i++) {
+            if (ANIMATED_TILE_IDS[i] == id) return ANIMATED_TILES[i];
+        }
+        return null;
+    }
+
+    /**
+     * Returns the map file path for a (world, level) key without extension
+     *
+     * @param worldIndex
+     * @param levelIndex
+     * @return
+     */
+    public static String getMapPath(int worldIndex, int levelIndex) {
+        return "maps/w" + worldIndex + "_l" + levelIndex;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * Reads and parses the MapData of the next map on a worker thread
+ * while the menus and screen fades are still playing,
+ * so entering a map only has to bind the data to textures on the render thread.
+ * Parsed maps are kept in a MapCache so replayed maps are not read again.
+ *
+ * On platforms without threads the map is read as soon as it is requested.
+ */
+public class MapPreloader implements Disposable {
+
+    private final AsyncExecutor executor = new AsyncExecutor(1, "MapPreloader");
+    // only accessed from the render thread
+    private final MapCache cache = new MapCache();
+
+    // the latest requested map
+    private AsyncResult<MapData> pending;
+    private int pendingWorld = -1;
+    private int pendingLevel = -1;
+
+    /**
+     * Starts reading a map in the background, replacing any previous request
+     *
+     * @param worldIndex
+     * @param levelIndex
+     */
+    public void preload(final int worldIndex, final int levelIndex) {
+        if (pending != null && pendingWorld == worldIndex && pendingLevel == levelIndex) return;
+        if (cache.contains(worldIndex, levelIndex)) return;
+        pendingWorld = worldIndex;
+        pendingLevel = levelIndex;
+        pending = executor.submit(new AsyncTask<MapData>() {
+            @Override
+            public MapData call() {
+                return MapData.read(MapData.getMapFile(worldIndex, levelIndex));
+            }
+        });
+    }
+
+    /**
+     * Returns the MapData of a map from the cache, waiting for it if it is
+     * still being preloaded or reading it right away if it was never requested
+     *
+     * @param worldIndex
+     * @param levelIndex
+     * @return
+     */
+    public MapData get(int worldIndex, int levelIndex) {
+        MapData data = cache.get(worldIndex, levelIndex);
+        if (data != null) return data;
+
+        if (pending != null && pendingWorld == worldIndex && pendingLevel == levelIndex) {
+            AsyncResult<MapData> result = pending;
+            pending = null;
+            data = result.get();
+        }
+        else {
+            data = MapData.read(MapData.getMapFile(worldIndex, levelIndex));
+        }
+        cache.put(worldIndex, levelIndex, data);
+        return data;
+    }
+
+    public MapCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A one pixel per tile picture of a map.
+ *
+ * The tiles are baked once from their types. Enemy and player markers
+ * are then patched in a pixel at a time as the TileMap reports Entities
+ * being removed and the player moving, so drawing it is always one quad.
+ */
+public class Minimap implements Disposable {
+
+    // RGBA8888 colors
+    private static final int BLOCKED = 0x202020ff;
+    private static final int GROUND = 0x9a9a9aff;
+    private static final int MOVING = 0x5d7fa3ff;
+    private static final int ICE = 0xaee3f5ff;
+    private static final int EVENT = 0xe67e22ff;
+    private static final int TELEPORT = 0x9b59b6ff;
+    private static final int END = 0xf1c40fff;
+    private static final int ENEMY = 0xe74c3cff;
+    private static final int PLAYER = 0xffffffff;
+
+    private final TileMap tileMap;
+    private final int width;
+    private final int height;
+
+    // cells with an enemy marker
+    private final Bits markers;
+    private int playerCell = -1;
+
+    private final Texture texture;
+    // single pixel uploaded for each marker change
+    private final Pixmap dot;
+
+    /**
+     * Bakes the tiles and the starting markers
+     *
+     * @param tileMap
+     * @param enemies cells of the enemies on the map
+     * @param playerCell cell of the player or -1
+     */
+    public Minimap(TileMap tileMap, IntArray enemies, int playerCell) {
+        this.tileMap = tileMap;
+        this.width = tileMap.mapWidth;
+        this.height = tileMap.mapHeight;
+        this.playerCell = playerCell;
+
+        markers = new Bits(width * height);
+        for (int i = 0; i < enemies.size; i++) markers.set(enemies.get(i));
+
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // pixmap rows go top down while map rows go bottom up
+                pixmap.drawPixel(x, height - 1 - y, getColor(y * width + x));
+            }
+        }
+        texture = new Texture(pixmap);
+        pixmap.dispose();
+
+        dot = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        dot.setBlending(Pixmap.Blending.None);
+    }
+
+    private int getTileColor(int cell) {
+        if (tileMap.isBlocked(cell % width, cell / width)) return BLOCKED;
+        switch (tileMap.tileTypes[cell]) {
+            case Tile.CHANGE:
+            case Tile.IN_AND_OUT:
+            case Tile.STOP:
+            case Tile.DOWN:
+            case Tile.UP:
+            case Tile.RIGHT:
+            case Tile.LEFT:
+                return MOVING;
+            case Tile.ICE:
+                return ICE;
+            case Tile.QUESTION_MARK:
+            case Tile.EXCLAMATION_MARK:
+                return EVENT;
+            case Tile.TELEPORT:
+                return TELEPORT;
+            case Tile.END:
+                return END;
+            default:
+                return GROUND;
+        }
+    }
+
+    /**
+     * The current color of a cell with the player drawn over enemies over tiles
+     */
+    private int getColor(int cell) {
+        if (cell == playerCell) return PLAYER;
+        if (markers.get(cell)) return ENEMY;
+        return getTileColor(cell);
+    }
+
+    private void patch(int cell) {
+        dot.drawPixel(0, 0, getColor(cell));
+        texture.draw(dot, cell % width, height - 1 - cell / width);
+    }
+
+    public void addMarker(int cell) {
+        markers.set(cell);
+        patch(cell);
+    }
+
+    public void removeMarker(int cell) {
+        markers.clear(cell);
+        patch(cell);
+    }
+
+    /**
+     * Moves the player marker
+     *
+     * @param cell
+     */
+    public void setPlayer(int cell) {
+        if (cell == playerCell) return;
+        int prev = playerCell;
+        playerCell = cell;
+        if (prev != -1) patch(prev);
+        if (cell != -1) patch(cell);
+    }
+
+    public Texture getTexture() {
+        return texture;
+    }
+
+    @Override
+    public void dispose() {
+        texture.dispose();
+        dot.dispose();
+    }
+
+}
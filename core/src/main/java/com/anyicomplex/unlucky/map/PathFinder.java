@@ -0,0 +1,217 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A* search over the cells of a tile map for tap to move.
+ *
+ * Every buffer is sized to the map once so a search never allocates.
+ * Cells are only stamped with the current search id instead of being
+ * cleared, so the cost of a search depends on the cells it visits and
+ * not on the size of the map.
+ *
+ * Forced movement, event and enemy cells are never walked through since
+ * the player can't control where they end up, but they can be the goal.
+ */
+public class PathFinder {
+
+    // movement direction offsets: 0 - down, 1 - up, 2 - right, 3 - left
+    private static final int[] DX = { 0, 0, 1, -1 };
+    private static final int[] DY = { -1, 1, 0, 0 };
+
+    private final TileMap tileMap;
+    private final int width;
+    private final int height;
+
+    // per cell search state, valid only when the stamp matches the current search
+    private final int[] stamp;
+    private final int[] cost;
+    private final byte[] parentDir;
+    private final boolean[] closed;
+    private int search = 0;
+
+    // open set as a binary min heap of cells and their f = cost + heuristic
+    // cells are pushed again instead of decreasing their key, so it can hold 4 entries per cell
+    private final int[] heapCells;
+    private final int[] heapKeys;
+    private int heapSize;
+
+    public PathFinder(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.width = tileMap.mapWidth;
+        this.height = tileMap.mapHeight;
+
+        int size = width * height;
+        stamp = new int[size];
+        cost = new int[size];
+        parentDir = new byte[size];
+        closed = new boolean[size];
+        heapCells = new int[size * 4 + 1];
+        heapKeys = new int[size * 4 + 1];
+    }
+
+    /**
+     * Finds the shortest walkable path between two cells
+     *
+     * @param start the cell the player is on
+     * @param goal the cell to walk to
+     * @param out filled with the directions to move in order, cleared first
+     * @return whether a path was found
+     */
+    public boolean findPath(int start, int goal, IntArray out) {
+        out.clear();
+        if (start == goal || !isInterior(goal % width, goal / width)) return false;
+        if (tileMap.isBlocked(goal % width, goal / width)) return false;
+
+        if (++search == 0) {
+            // stamp overflowed so every stale stamp must be forgotten
+            for (int i = 0; i < stamp.length; i++) stamp[i] = 0;
+            search = 1;
+        }
+        heapSize = 0;
+
+        int gx = goal % width;
+        int gy = goal / width;
+
+        visit(start, 0, 0, gx, gy);
+        while (heapSize > 0) {
+            int cell = pop();
+            if (closed[cell]) continue;
+            if (cell == goal) {
+                buildPath(start, goal, out);
+                return true;
+            }
+            closed[cell] = true;
+            // forced movement and events take over once the player lands on them
+            if (cell != start && !isWalkable(cell)) continue;
+
+            int x = cell % width;
+            int y = cell / width;
+            for (int dir = 0; dir < 4; dir++) {
+                int nx = x + DX[dir];
+                int ny = y + DY[dir];
+                if (!isInterior(nx, ny) || tileMap.isBlocked(nx, ny)) continue;
+                int next = ny * width + nx;
+                if (next != goal && !isWalkable(next)) continue;
+
+                int g = cost[cell] + 1;
+                if (stamp[next] != search || !closed[next] && g < cost[next]) visit(next, g, dir, gx, gy);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cell the player can step on and keep going from
+     *
+     * @param cell
+     * @return
+     */
+    private boolean isWalkable(int cell) {
+        // must not page in chunks, that would spawn their Entities mid search
+        return tileMap.tileTypes[cell] == Tile.NORMAL && !tileMap.isOccupied(cell);
+    }
+
+    /**
+     * The player can never move onto the outer ring of the map
+     */
+    private boolean isInterior(int x, int y) {
+        return x > 0 && y > 0 && x < width - 1 && y < height - 1;
+    }
+
+    private void visit(int cell, int g, int dir, int gx, int gy) {
+        stamp[cell] = search;
+        closed[cell] = false;
+        cost[cell] = g;
+        parentDir[cell] = (byte) dir;
+        push(cell, g + Math.abs(gx - cell % width) + Math.abs(gy - cell / width));
+    }
+
+    /**
+     * Walks the parent directions back from the goal and reverses them
+     */
+    private void buildPath(int start, int goal, IntArray out) {
+        int cell = goal;
+        while (cell != start) {
+            int dir = parentDir[cell];
+            out.add(dir);
+            cell -= DY[dir] * width + DX[dir];
+        }
+        out.reverse();
+    }
+
+    private void push(int cell, int key) {
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (heapKeys[parent] <= key) break;
+            heapCells[i] = heapCells[parent];
+            heapKeys[i] = heapKeys[parent];
+            i = parent;
+        }
+        heapCells[i] = cell;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int top = heapCells[0];
+        int size = --heapSize;
+        int cell = heapCells[size];
+        int key = heapKeys[size];
+        int i = 0;
+        int half = size >> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= key) break;
+            heapCells[i] = heapCells[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapCells[i] = cell;
+        heapKeys[i] = key;
+        return top;
+    }
+
+}
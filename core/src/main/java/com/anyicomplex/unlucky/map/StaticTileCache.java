@@ -0,0 +1,323 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Bakes the tiles of a TileMap that never change frame to frame into SpriteCaches,
+ * one per map chunk, so only the chunks around the camera are drawn and kept in memory.
+ * Chunks are baked when they come into view and released once they are
+ * more than a chunk away from it.
+ *
+ * Each chunk holds three caches matching the TileMap render passes:
+ * - bottom: the bottom layer and non animated special tiles
+ * - middle: non animated normal and blocked tiles drawn above the player
+ * - top: the top layer
+ *
+ * Animated tiles and entities are still drawn every frame by the TileMap.
+ */
+public class StaticTileCache implements Disposable {
+
+    public static final int BOTTOM = 0;
+    public static final int MIDDLE = 1;
+    public static final int TOP = 2;
+
+    private static final int CHUNK_SIZE = TileMap.CHUNK_SIZE;
+
+    private final TileMap map;
+    // shared by every chunk so a chunk doesn't compile its own shader,
+    // installed with setShader so disposing a chunk leaves it alone
+    private final ShaderProgram shader;
+
+    private int chunkCols;
+    private int chunkRows;
+    // baked chunks, null if the chunk is not resident
+    private SpriteCache[] caches;
+    // cache ids by [chunk * 3 + layer], -1 for an empty chunk layer
+    private int[] cacheIds;
+    // set when a baked tile of the chunk was replaced
+    private boolean[] dirty;
+    private IntArray resident = new IntArray();
+
+    // chunks within the camera rendering distance
+    private int minChunkCol;
+    private int maxChunkCol;
+    private int minChunkRow;
+    private int maxChunkRow;
+
+    public StaticTileCache(TileMap map) {
+        this.map = map;
+        shader = createShader();
+        chunkCols = (map.mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkRows = (map.mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        caches = new SpriteCache[chunkCols * chunkRows];
+        cacheIds = new int[chunkCols * chunkRows * 3];
+        dirty = new boolean[chunkCols * chunkRows];
+    }
+
+    /**
+     * The default SpriteCache shader, which SpriteCache only creates per instance,
+     * with a tint since SpriteCache colors are baked and can't follow the batch color.
+     * SpriteCache sets the combined matrix as u_projTrans on a custom shader.
+     *
+     * @return
+     */
+    private static ShaderProgram createShader() {
+        String vertexShader = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "   v_color.a = v_color.a * (255.0/254.0);\n"
+            + "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "   gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+        String fragmentShader = "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform vec4 u_tint;\n"
+            + "void main() {\n"
+            + "   gl_FragColor = u_tint * v_color * texture2D(u_texture, v_texCoords);\n"
+            + "}\n";
+        ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader);
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Error compiling static tile shader: " + shader.getLog());
+        // SpriteCache also sets u_proj and u_trans on a custom shader, fetching them
+        // without pedantic caches them as missing so begin doesn't throw
+        shader.fetchUniformLocation("u_proj", false);
+        shader.fetchUniformLocation("u_trans", false);
+        return shader;
+    }
+
+    /**
+     * Bakes a chunk into a new SpriteCache
+     *
+     * @param chunk
+     */
+    private void build(int chunk) {
+        release(chunk);
+
+        int startCol = (chunk % chunkCols) * CHUNK_SIZE;
+        int startRow = (chunk / chunkCols) * CHUNK_SIZE;
+        int endCol = Math.min(startCol + CHUNK_SIZE, map.mapWidth);
+        int endRow = Math.min(startRow + CHUNK_SIZE, map.mapHeight);
+
+        int size = 0;
+        for (int r = startRow; r < endRow; r++) {
+            for (int c = startCol; c < endCol; c++) {
+                int i = r * map.mapWidth + c;
+                if (map.getBottomSprite(i) != null) size++;
+                if (map.getTileSprite(i) != null) size++;
+                if (map.getTopSprite(i) != null) size++;
+            }
+        }
+        // no shader of its own, SpriteCache would dispose it along with the cache
+        SpriteCache cache = new SpriteCache(Math.max(size, 1), null, true);
+        cache.setShader(shader);
+        for (int layer = BOTTOM; layer <= TOP; layer++) {
+            cacheIds[chunk * 3 + layer] = bakeChunk(cache, startCol, startRow, endCol, endRow, layer);
+        }
+        caches[chunk] = cache;
+        dirty[chunk] = false;
+        resident.add(chunk);
+    }
+
+    /**
+     * Disposes the SpriteCache of a chunk if it is resident
+     *
+     * @param chunk
+     */
+    private void release(int chunk) {
+        if (caches[chunk] == null) return;
+        caches[chunk].dispose();
+        caches[chunk] = null;
+        resident.removeValue(chunk);
+    }
+
+    /**
+     * Adds the static tiles of a layer within a chunk to a new cache
+     *
+     * @param cache
+     * @param startCol
+     * @param startRow
+     * @param endCol
+     * @param endRow
+     * @param layer
+     * @return the cache id or -1 if the chunk has nothing on this layer
+     */
+    private int bakeChunk(SpriteCache cache, int startCol, int startRow, int endCol, int endRow, int layer) {
+        boolean empty = true;
+
+        cache.beginCache();
+        for (int r = startRow; r < endRow; r++) {
+            for (int c = startCol; c < endCol; c++) {
+                int i = r * map.mapWidth + c;
+                float x = map.origin.x + c * map.tileSize;
+                float y = map.origin.y + r * map.tileSize;
+                TextureRegion sprite = map.getTileSprite(i);
+                boolean special = Tile.isSpecial(map.tileTypes[i]);
+
+                if (layer == BOTTOM) {
+                    TextureRegion bottom = map.getBottomSprite(i);
+                    if (bottom != null) {
+                        cache.add(bottom, x, y);
+                        empty = false;
+                    }
+                    if (special && sprite != null) {
+                        cache.add(sprite, x, y);
+                        empty = false;
+                    }
+                }
+                else if (layer == MIDDLE) {
+                    if (!special && sprite != null) {
+                        cache.add(sprite, x, y);
+                        empty = false;
+                    }
+                }
+                else {
+                    TextureRegion top = map.getTopSprite(i);
+                    if (top != null) {
+                        cache.add(top, x, y);
+                        empty = false;
+                    }
+                }
+            }
+        }
+        int id = cache.endCache();
+        return empty ? -1 : id;
+    }
+
+    /**
+     * Rebakes the chunk of a replaced tile before it is drawn again
+     *
+     * @param index cell index of the tile
+     */
+    public void invalidate(int index) {
+        dirty[map.getChunk(index)] = true;
+    }
+
+    /**
+     * Pages chunks in and out around the visible tile window of the map
+     * and sets the projection of the resident chunks
+     *
+     * @param cam
+     * @param minCol
+     * @param maxCol
+     * @param minRow
+     * @param maxRow
+     */
+    public void setView(OrthographicCamera cam, int minCol, int maxCol, int minRow, int maxRow) {
+        minChunkCol = minCol / CHUNK_SIZE;
+        maxChunkCol = maxCol / CHUNK_SIZE;
+        minChunkRow = minRow / CHUNK_SIZE;
+        maxChunkRow = maxRow / CHUNK_SIZE;
+
+        // release chunks more than a chunk away from the view
+        for (int i = resident.size - 1; i >= 0; i--) {
+            int chunk = resident.get(i);
+            int cc = chunk % chunkCols;
+            int cr = chunk / chunkCols;
+            if (cc < minChunkCol - 1 || cc > maxChunkCol + 1 || cr < minChunkRow - 1 || cr > maxChunkRow + 1) {
+                release(chunk);
+            }
+        }
+
+        for (int cr = minChunkRow; cr <= maxChunkRow; cr++) {
+            for (int cc = minChunkCol; cc <= maxChunkCol; cc++) {
+                int chunk = cr * chunkCols + cc;
+                if (caches[chunk] == null || dirty[chunk]) build(chunk);
+            }
+        }
+
+        for (int i = 0; i < resident.size; i++) {
+            caches[resident.get(i)].setProjectionMatrix(cam.combined);
+        }
+    }
+
+    /**
+     * Draws a layer of the visible chunks
+     * Must be called outside of SpriteBatch begin and end
+     *
+     * @param layer
+     * @param tint multiplied with the baked tiles, the batch color so fades apply
+     */
+    public void render(int layer, Color tint) {
+        // SpriteCache doesn't manage blending
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        for (int cr = minChunkRow; cr <= maxChunkRow; cr++) {
+            for (int cc = minChunkCol; cc <= maxChunkCol; cc++) {
+                int chunk = cr * chunkCols + cc;
+                int id = cacheIds[chunk * 3 + layer];
+                if (id == -1) continue;
+                caches[chunk].begin();
+                shader.setUniformf("u_tint", tint);
+                caches[chunk].draw(id);
+                caches[chunk].end();
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = resident.size - 1; i >= 0; i--) {
+            release(resident.get(i));
+        }
+        shader.dispose();
+    }
+
+}
@@ -51,6 +51,9 @@ import com.badlogic.gdx.math.Vector2;
  * Stores information about each tile on a map, including what it contains (Entity)
  * and how the player interacts with it
  *
+ * The TileMap stores its tiles as primitive arrays, a Tile is a copy of
+ * one cell of the map returned by TileMap.getTile
+ *
  * @author Ming Li
  */
 public class Tile {
@@ -121,10 +124,7 @@ public class Tile {
 
         animated = false;
 
-        if (Util.isBlockedTile(id)) type = BLOCKED;
-        else if ((id >= 171 && id <= 173) || (id >= 187 && id <= 189) || (id >= 203 && id <= 205)
-            || id == 220 || id == 221 || id == 236 || id == 237) type = ICE;
-        else type = NORMAL;
+        type = getType(id, false);
     }
 
     /**
@@ -143,19 +143,36 @@ public class Tile {
 
         animated = true;
 
-        if (Util.isBlockedAnimatedTile(id)) type = BLOCKED;
-        else if (id == 99) type = CHANGE;
-        else if (id == 100) type = IN_AND_OUT;
-        else if (id == 101) type = STOP;
-        else if (id == 102) type = DOWN;
-        else if (id == 103) type = UP;
-        else if (id == 104) type = RIGHT;
-        else if (id == 105) type = LEFT;
-        else if (id == 106) type = QUESTION_MARK;
-        else if (id == 107) type = TELEPORT;
-        else if (id == 108) type = EXCLAMATION_MARK;
-        else if (id == 110) type = END;
-        else type = NORMAL;
+        type = getType(id, true);
+    }
+
+    /**
+     * Tile type is determined by id and whether the tile is animated
+     *
+     * @param id
+     * @param animated
+     * @return
+     */
+    public static byte getType(int id, boolean animated) {
+        if (!animated) {
+            if (Util.isBlockedTile(id)) return BLOCKED;
+            if ((id >= 171 && id <= 173) || (id >= 187 && id <= 189) || (id >= 203 && id <= 205)
+                || id == 220 || id == 221 || id == 236 || id == 237) return ICE;
+            return NORMAL;
+        }
+        if (Util.isBlockedAnimatedTile(id)) return BLOCKED;
+        else if (id == 99) return CHANGE;
+        else if (id == 100) return IN_AND_OUT;
+        else if (id == 101) return STOP;
+        else if (id == 102) return DOWN;
+        else if (id == 103) return UP;
+        else if (id == 104) return RIGHT;
+        else if (id == 105) return LEFT;
+        else if (id == 106) return QUESTION_MARK;
+        else if (id == 107) return TELEPORT;
+        else if (id == 108) return EXCLAMATION_MARK;
+        else if (id == 110) return END;
+        return NORMAL;
     }
 
     public void addEntity(Entity e) {
@@ -206,6 +223,10 @@ public class Tile {
      * @return
      */
     public boolean isSpecial() {
+        return isSpecial(type);
+    }
+
+    public static boolean isSpecial(int type) {
         return type != NORMAL && type != BLOCKED;
     }
 
@@ -46,15 +46,20 @@ import com.anyicomplex.unlucky.entity.Entity;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.resource.Util;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
 
 /**
- * Creates a tilemap from a text file.
+ * Creates a tilemap from a map file.
  * A map file has the format:
  *
  * mapWidth
@@ -94,24 +99,40 @@ import com.badlogic.gdx.utils.Array;
  * A map will always have a bottom layer and tile map layer but does
  * not need to have a top layer
  *
+ * Maps are normally loaded from their compiled binary version (see MapFormat)
+ * and the text format is only read when there is no compiled map.
+ * Files are parsed into MapData which can be done off the render thread.
+ *
+ * So that large maps can be played, the map is split into square chunks.
+ * Only the tile ids of the whole map stay in memory (a few bytes per cell)
+ * while Entities are spawned, updated and baked into the static tile cache
+ * chunk by chunk around the camera. Entities of chunks left behind keep their state.
+ *
  * @author Ming Li
  */
-public class TileMap {
+public class TileMap implements Disposable {
+
+    // chunk width and height in tiles
+    public static final int CHUNK_SIZE = 16;
 
     // Tiles
     public int tileSize;
 
     // Map
-    public String mapInfo;
-    public String[] mapInfoLines;
-    // array containing map information
-    public Tile[] tileMap;
-    public TextureRegion[] bottomLayer;
-    public TextureRegion[] topLayer;
+    // tile layer stored by cell index
+    // an id of -1 is an empty tile and animated tile ids begin at 96
+    // the sprite of a non animated tile is looked up from its id
+    public short[] tileIds;
+    public byte[] tileTypes;
+    // index of an animated tile's shared animation, -1 if not animated
+    public byte[] tileAnimations;
+    // tile ids of the layers below and above the tile layer, -1 for no tile
+    // shared with the MapData and never modified, topLayer is null if there is none
+    public short[] bottomLayer;
+    public short[] topLayer;
     public boolean hasTopLayer;
     public int mapWidth;
     public int mapHeight;
-    public boolean[] collisionMap;
 
     public Vector2 origin;
     public Vector2 playerSpawn;
@@ -119,168 +140,388 @@ public class TileMap {
     public boolean dark;
     public int weather;
 
+    // tiles within the camera rendering distance
+    private int viewMinCol;
+    private int viewMaxCol;
+    private int viewMinRow;
+    private int viewMaxRow;
+
+    // one bit per cell set for blocked tiles
+    private Bits collision;
+    // cells of each special tile type, indexed by type
+    // normal and blocked tiles cover most of a map and are not indexed
+    private IntArray[] typeCells;
+    // number of cells of each tile id
+    private IntIntMap idCounts;
+    // Entities by the cell index of the tile holding them
+    private IntMap<Entity> entities = new IntMap<Entity>();
+
+    // chunks
+    private int chunkCols;
+    private int chunkRows;
+    // cells of the Entities in each chunk, null until the chunk is first paged in
+    // so updating scales with active chunks instead of map area
+    private IntArray[] chunkEntities;
+    // indices into the MapData entity table of the Entities left to spawn in each chunk
+    private IntArray[] chunkSpawns;
+    private MapData data;
+    // chunks around the camera that are updated
+    private int minChunkCol;
+    private int maxChunkCol = -1;
+    private int minChunkRow;
+    private int maxChunkRow = -1;
+
+    // one animation shared by every animated tile of the same type
+    private Array<AnimationManager> animations = new Array<AnimationManager>();
+    // animation index by animIndex, number of frames and fps
+    private IntIntMap animationKeys = new IntIntMap();
+
+    // pre-baked non animated tiles, null if disabled
+    private StaticTileCache staticCache;
+    // tap to move search buffers, created on first use
+    private PathFinder pathFinder;
+    // created on first use, then kept in sync with the Entities and the player
+    private Minimap minimap;
+    private int playerCell = -1;
+    // revealed as the player moves, null if the fog of war is off
+    private FogOfWar fog;
+
     // res
     private ResourceManager rm;
 
     public TileMap(int tileSize, String path, Vector2 origin, ResourceManager rm) {
+        this(tileSize, MapData.read(Gdx.files.internal(path)), origin, rm);
+    }
+
+    /**
+     * Binds parsed map data to the TextureRegions, animations and Entities of the map
+     * Must be called on the render thread
+     *
+     * @param tileSize
+     * @param data
+     * @param origin
+     * @param rm
+     */
+    public TileMap(int tileSize, MapData data, Vector2 origin, ResourceManager rm) {
         this.tileSize = tileSize;
         this.origin = origin;
         this.rm = rm;
 
-        playerSpawn = new Vector2();
-
-        // read file into a String
-        FileHandle file = Gdx.files.internal(path);
-        mapInfo = file.readString();
-        // split string by newlines
-        mapInfoLines = mapInfo.split("\\r?\\n");
-        mapWidth = Integer.parseInt(mapInfoLines[0]);
-        mapHeight = Integer.parseInt(mapInfoLines[1]);
+        this.data = data;
+        mapWidth = data.mapWidth;
+        mapHeight = data.mapHeight;
+        playerSpawn = new Vector2(data.spawnX, data.spawnY);
+        dark = data.dark;
+        weather = data.weather;
+        hasTopLayer = data.hasTopLayer;
+
+        createLayers();
+        bottomLayer = data.bottomLayer;
+        topLayer = data.topLayer;
+
+        for (int k = 0; k < tileIds.length; k++) {
+            int index = data.tileLayer[k];
+            // animated tiles and entities are created from the tables after the layers
+            setCell(k, index >= 0 ? index : -1, -1);
+        }
 
-        playerSpawn.set(Integer.parseInt(mapInfoLines[2]), Integer.parseInt(mapInfoLines[3]));
+        for (int i = 0; i < data.numAnimated; i++) {
+            int k = data.animated[i * 4];
+            int animIndex = data.animated[i * 4 + 1];
+            setCell(k, animIndex + 96, getTileAnimation(animIndex, data.animated[i * 4 + 2], data.animated[i * 4 + 3]));
+        }
 
-        dark = Integer.parseInt(mapInfoLines[4]) == 1;
-        weather = Integer.parseInt(mapInfoLines[5]);
+        // entities are spawned when their chunk is first paged in
+        for (int i = 0; i < data.numEntities; i++) {
+            int chunk = getChunk(data.entities[i * 2]);
+            if (chunkSpawns[chunk] == null) chunkSpawns[chunk] = new IntArray();
+            chunkSpawns[chunk].add(i);
+        }
 
-        bottomLayer = new TextureRegion[mapWidth * mapHeight];
-        tileMap = new Tile[mapWidth * mapHeight];
-        topLayer = new TextureRegion[mapWidth * mapHeight];
+        createIndex();
+    }
 
-        createBottomLayer();
-        createTileMap();
-        createTopLayer();
+    /**
+     * Allocates the layers once the map size is known
+     */
+    private void createLayers() {
+        int size = mapWidth * mapHeight;
+        tileIds = new short[size];
+        tileTypes = new byte[size];
+        tileAnimations = new byte[size];
+        collision = new Bits(size);
+
+        chunkCols = (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkRows = (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkEntities = new IntArray[chunkCols * chunkRows];
+        chunkSpawns = new IntArray[chunkCols * chunkRows];
+    }
 
-        collisionMap = new boolean[mapWidth * mapHeight];
-        for (int i = 0; i < collisionMap.length; i++) {
-            collisionMap[i] = tileMap[i].isBlocked();
-        }
+    /**
+     * Returns the chunk holding a cell index
+     *
+     * @param index
+     * @return
+     */
+    public int getChunk(int index) {
+        return (index / mapWidth / CHUNK_SIZE) * chunkCols + (index % mapWidth) / CHUNK_SIZE;
     }
 
     /**
-     * Converts lines 6->n of the mapInfo into a 1d array of TextureRegions
-     * representing a non collidable bottom layer
+     * Returns the cells of the Entities in a chunk,
+     * spawning the Entities of the chunk the first time it is paged in
+     *
+     * @param chunk
+     * @return
      */
-    private void createBottomLayer() {
-        for (int i = 6; i < mapHeight + 6; i++) {
-            String[] row = mapInfoLines[i].split(",");
-            String[] trimmed = new String[row.length];
-            for (int j = 0; j < row.length; j++) {
-                trimmed[j] = row[j].replaceAll(" ", "");
-            }
-            for (int j = 0; j < mapWidth; j++) {
-                int k = (mapWidth * mapHeight - 1) - ((i - 6) * mapWidth + j);
-                int l = rm.tiles16x16[0].length;
-
-                // index of -1 is null
-                // bottom layer is null in cases where an upper tile will
-                // completely replace the texture
-                int index = Integer.parseInt(trimmed[row.length - 1 - j]) - 1;
-                if (index == -1) bottomLayer[k] = null;
-                else bottomLayer[k] = rm.tiles16x16[index / l][index % l];
+    private IntArray pageIn(int chunk) {
+        IntArray cells = chunkEntities[chunk];
+        if (cells != null) return cells;
+
+        cells = chunkEntities[chunk] = new IntArray();
+        IntArray spawns = chunkSpawns[chunk];
+        if (spawns == null) return cells;
+        for (int i = 0; i < spawns.size; i++) {
+            int k = data.entities[spawns.get(i) * 2];
+            Entity entity = Util.getEntity(data.entities[spawns.get(i) * 2 + 1], toMapCoords(k % mapWidth, k / mapWidth), this, rm);
+            if (entity != null) {
+                entities.put(k, entity);
+                cells.add(k);
             }
         }
+        chunkSpawns[chunk] = null;
+        return cells;
     }
 
     /**
-     * Converts lines mapHeight + 7->n of the mapInfo to a 1d array of Tiles
-     * representing a tile for each element
+     * Sets the tile layer at a cell index
+     *
+     * @param index
+     * @param id
+     * @param anim index of the shared animation or -1
      */
-    private void createTileMap() {
-        for (int i = mapHeight + 6; i < 2 * mapHeight + 6; i++) {
-            String[] row = mapInfoLines[i].split(",");
-            // remove all whitespace from text so the map files can be more readable with spaces
-            String[] trimmed = new String[row.length];
-            for (int j = 0; j < row.length; j++) {
-                trimmed[j] = row[j].replaceAll(" ", "");
-            }
-            for (int j = 0; j < mapWidth; j++) {
-                String temp = getAnimatedTileConversion(trimmed[row.length - 1 - j]);
-
-                int k = (mapWidth * mapHeight - 1) - ((i - mapHeight - 6) * mapWidth + j);
-                int l = rm.tiles16x16[0].length;
-
-                int y = k / mapWidth;
-                int x = k % mapWidth;
-
-                Tile t;
+    private void setCell(int index, int id, int anim) {
+        // keep the index current once the map is loaded
+        if (typeCells != null) {
+            if (typeCells[tileTypes[index]] != null) typeCells[tileTypes[index]].removeValue(index);
+            idCounts.getAndIncrement(tileIds[index], 0, -1);
+        }
 
-                // check for Entity and tile format "e[Entity ID]" meaning
-                // an Entity is placed on a certain tile
-                if (temp.startsWith("e")) {
-                    String removeSymbol = temp.substring(1, temp.length());
-                    int entityID = Integer.parseInt(removeSymbol);
+        tileIds[index] = (short) id;
+        tileAnimations[index] = (byte) anim;
+        tileTypes[index] = Tile.getType(id, anim != -1);
+        if (tileTypes[index] == Tile.BLOCKED) collision.set(index);
+        else collision.clear(index);
 
-                    TextureRegion none = null;
-                    // an entity is placed onto a tile with id -1 meaning empty tile with no texture
-                    t = new Tile(-1, none, new Vector2(x, y));
-                    t.addEntity(Util.getEntity(entityID, toMapCoords(x, y), this, rm));
-                }
-                // check for animated tile format
-                else if (temp.startsWith("a")) {
-                    String removeSymbol = temp.substring(1, temp.length());
-                    String[] trivalue = removeSymbol.split("\\|");
+        if (typeCells != null) {
+            if (typeCells[tileTypes[index]] != null) typeCells[tileTypes[index]].add(index);
+            idCounts.getAndIncrement(id, 0, 1);
+        }
+    }
 
-                    int animIndex = Integer.parseInt(trivalue[0]);
-                    int numFrames = Integer.parseInt(trivalue[1]);
-                    int fps = Integer.parseInt(trivalue[2]);
+    /**
+     * Builds the tile type and tile id index once all tiles are loaded
+     */
+    private void createIndex() {
+        idCounts = new IntIntMap();
+        IntArray[] cells = new IntArray[Tile.END + 1];
+        for (int type = 0; type < cells.length; type++) {
+            if (Tile.isSpecial(type)) cells[type] = new IntArray();
+        }
+        for (int i = 0; i < tileIds.length; i++) {
+            if (cells[tileTypes[i]] != null) cells[tileTypes[i]].add(i);
+            idCounts.getAndIncrement(tileIds[i], 0, 1);
+        }
+        typeCells = cells;
+    }
 
-                    AnimationManager anim = new AnimationManager(rm.atiles16x16, numFrames, animIndex, (float) 1 / fps);
+    /**
+     * Returns the cell indices of every tile of a special type
+     * The array is owned by the map and must not be modified
+     *
+     * @param type one of the special Tile types
+     * @return
+     */
+    public IntArray getCells(int type) {
+        return typeCells[type];
+    }
 
-                    t = new Tile(animIndex + 96, anim, new Vector2(x, y));
-                }
-                else {
-                    int index = Integer.parseInt(trimmed[row.length - 1 - j]) - 1;
-                    if (index == -1) {
-                        TextureRegion none = null;
-                        t = new Tile(-1, none, new Vector2(x, y));
-                    }
-                    else {
-                        t = new Tile(index, rm.tiles16x16[index / l][index % l], new Vector2(x, y));
-                    }
+    public void update(float dt) {
+        for (int cr = minChunkRow; cr <= maxChunkRow; cr++) {
+            for (int cc = minChunkCol; cc <= maxChunkCol; cc++) {
+                IntArray cells = chunkEntities[cr * chunkCols + cc];
+                for (int i = 0; i < cells.size; i++) {
+                    entities.get(cells.get(i)).update(dt);
                 }
-                tileMap[k] = t;
             }
         }
+        for (int i = 0; i < animations.size; i++) {
+            animations.get(i).update(dt);
+        }
     }
 
     /**
-     * Creates the top layer of the map if there is one,
-     * converting lines 2 * mapHeight + 7 -> n into a 1d array of TextureRegions
+     * Returns the index of the animation shared by all animated tiles of a type,
+     * creating it the first time the type is used on this map
+     *
+     * @param animIndex
+     * @param numFrames
+     * @param fps
+     * @return
      */
-    private void createTopLayer() {
-        // get boolean hasTopLayer
-        int h = Integer.parseInt(mapInfoLines[2 * mapHeight + 6]);
-        hasTopLayer = h == 1 ? true : false;
-        if (!hasTopLayer) return;
+    private int getTileAnimation(int animIndex, int numFrames, int fps) {
+        int key = (animIndex << 16) | (numFrames << 8) | fps;
+        int index = animationKeys.get(key, -1);
+        if (index == -1) {
+            index = animations.size;
+            animations.add(new AnimationManager(rm.atiles16x16, numFrames, animIndex, (float) 1 / fps));
+            animationKeys.put(key, index);
+        }
+        return index;
+    }
 
-        for (int i = 2 * mapHeight + 7; i < 3 * mapHeight + 7; i++) {
-            String[] row = mapInfoLines[i].split(",");
-            String[] trimmed = new String[row.length];
-            for (int j = 0; j < trimmed.length; j++) {
-                trimmed[j] = row[j].replaceAll(" ", "");
-            }
-            for (int j = 0; j < mapWidth; j++) {
-                int k = (mapWidth * mapHeight - 1) - ((i - (2 * mapHeight + 7)) * mapWidth + j);
-                int l = rm.tiles16x16[0].length;
+    /**
+     * Returns the sprite of a non animated tile at a cell index
+     *
+     * @param index
+     * @return null if the tile is empty or animated
+     */
+    public TextureRegion getTileSprite(int index) {
+        if (tileAnimations[index] != -1) return null;
+        return getSprite(tileIds[index]);
+    }
+
+    /**
+     * Returns the sprite of the bottom layer at a cell index
+     *
+     * @param index
+     * @return null if there is no tile
+     */
+    public TextureRegion getBottomSprite(int index) {
+        return getSprite(bottomLayer[index]);
+    }
 
-                // index of -1 is null
-                int index = Integer.parseInt(trimmed[row.length - 1 - j]) - 1;
+    /**
+     * Returns the sprite of the top layer at a cell index
+     *
+     * @param index
+     * @return null if there is no top layer or tile
+     */
+    public TextureRegion getTopSprite(int index) {
+        if (!hasTopLayer) return null;
+        return getSprite(topLayer[index]);
+    }
+
+    private TextureRegion getSprite(int id) {
+        if (id < 0) return null;
+        int l = rm.tiles16x16[0].length;
+        return rm.tiles16x16[id / l][id % l];
+    }
 
-                if (index == -1) topLayer[k] = null;
-                else topLayer[k] = rm.tiles16x16[index / l][index % l];
+    /**
+     * Calculates the window of tiles within the camera rendering distance.
+     * Must be called once per frame before rendering any layer.
+     *
+     * 8 tiles left and 7 tiles right of the camera x
+     * 5 tiles from the camera y
+     *
+     * @param cam map camera
+     */
+    public void setView(OrthographicCamera cam) {
+        viewMinCol = Math.max(0, MathUtils.ceil(cam.position.x / tileSize) - 8);
+        viewMaxCol = Math.min(mapWidth - 1, MathUtils.floor(cam.position.x / tileSize) + 7);
+        viewMinRow = Math.max(0, MathUtils.ceil(cam.position.y / tileSize) - 5);
+        viewMaxRow = Math.min(mapHeight - 1, MathUtils.floor(cam.position.y / tileSize) + 5);
+
+        // page in the chunks of the view and the chunks next to them
+        minChunkCol = Math.max(0, viewMinCol / CHUNK_SIZE - 1);
+        maxChunkCol = Math.min(chunkCols - 1, viewMaxCol / CHUNK_SIZE + 1);
+        minChunkRow = Math.max(0, viewMinRow / CHUNK_SIZE - 1);
+        maxChunkRow = Math.min(chunkRows - 1, viewMaxRow / CHUNK_SIZE + 1);
+        for (int cr = minChunkRow; cr <= maxChunkRow; cr++) {
+            for (int cc = minChunkCol; cc <= maxChunkCol; cc++) {
+                pageIn(cr * chunkCols + cc);
             }
         }
+
+        if (staticCache != null) staticCache.setView(cam, viewMinCol, viewMaxCol, viewMinRow, viewMaxRow);
     }
 
-    public void update(float dt) {
-        for (int i = 0; i < tileMap.length; i++) {
-            if (tileMap[i].containsEntity()) {
-                tileMap[i].getEntity().update(dt);
-            }
-            if (tileMap[i].animated) {
-                tileMap[i].anim.update(dt);
+    /**
+     * The A* search used for tap to move, sized to this map
+     *
+     * @return
+     */
+    public PathFinder getPathFinder() {
+        if (pathFinder == null) pathFinder = new PathFinder(this);
+        return pathFinder;
+    }
+
+    /**
+     * The minimap of this map with a marker for every enemy, spawned or not
+     *
+     * @return
+     */
+    public Minimap getMinimap() {
+        if (minimap == null) {
+            IntArray enemies = new IntArray();
+            for (IntMap.Keys it = entities.keys(); it.hasNext;) enemies.add(it.next());
+            for (IntArray spawns : chunkSpawns) {
+                if (spawns == null) continue;
+                for (int i = 0; i < spawns.size; i++) enemies.add(data.entities[spawns.get(i) * 2]);
             }
+            minimap = new Minimap(this, enemies, playerCell);
         }
+        return minimap;
+    }
+
+    /**
+     * Tells the map which cell the player is on or moving to
+     *
+     * @param cell
+     */
+    public void setPlayerCell(int cell) {
+        playerCell = cell;
+        if (minimap != null) minimap.setPlayer(cell);
+        if (fog != null) fog.reveal(cell);
+    }
+
+    /**
+     * Covers the map in a fog that is lifted around every cell the player moves to
+     */
+    public void enableFogOfWar() {
+        if (fog != null) return;
+        fog = new FogOfWar(this);
+        if (playerCell != -1) fog.reveal(playerCell);
+    }
+
+    /**
+     * The fog of this map or null if it was never enabled
+     *
+     * @return
+     */
+    public FogOfWar getFogOfWar() {
+        return fog;
+    }
+
+    /**
+     * Bakes the non animated tiles into a StaticTileCache so they are no longer
+     * submitted to the SpriteBatch every frame
+     */
+    public void enableStaticCache() {
+        if (staticCache == null) staticCache = new StaticTileCache(this);
+    }
+
+    /**
+     * Draws a layer of the static tile cache in between SpriteBatch draws
+     *
+     * @param batch
+     * @param layer
+     */
+    private void renderStaticCache(SpriteBatch batch, int layer) {
+        batch.end();
+        staticCache.render(layer, batch.getColor());
+        batch.begin();
     }
 
     /**
@@ -288,26 +529,27 @@ public class TileMap {
      *
      * @param batch
      */
-    public void renderBottomLayer(SpriteBatch batch, OrthographicCamera cam) {
-        for (int i = 0; i < bottomLayer.length; i++) {
-            if (tileInsideCamera(tileMap[i], cam)) {
-                int r = i / mapWidth;
-                int c = i % mapWidth;
+    public void renderBottomLayer(SpriteBatch batch) {
+        boolean cached = staticCache != null;
+        if (cached) renderStaticCache(batch, StaticTileCache.BOTTOM);
 
-                if (bottomLayer[i] != null)
-                    batch.draw(bottomLayer[i], origin.x + c * tileSize, origin.y + r * tileSize);
+        for (int r = viewMinRow; r <= viewMaxRow; r++) {
+            for (int c = viewMinCol; c <= viewMaxCol; c++) {
+                int i = r * mapWidth + c;
+
+                if (!cached && bottomLayer[i] != -1)
+                    batch.draw(getBottomSprite(i), origin.x + c * tileSize, origin.y + r * tileSize);
                 // render animated tiles below the player
-                if (tileMap[i].animated) {
-                    batch.draw(tileMap[i].anim.getKeyFrame(true), origin.x + c * tileSize, origin.y + r * tileSize);
+                if (tileAnimations[i] != -1) {
+                    batch.draw(animations.get(tileAnimations[i]).getKeyFrame(true), origin.x + c * tileSize, origin.y + r * tileSize);
                 }
                 // rendering non animated special tiles
-                if (!tileMap[i].animated && tileMap[i].isSpecial() && tileMap[i].sprite != null) {
-                    batch.draw(tileMap[i].sprite, origin.x + c * tileSize, origin.y + r * tileSize);
+                else if (!cached && Tile.isSpecial(tileTypes[i]) && tileIds[i] != -1) {
+                    batch.draw(getTileSprite(i), origin.x + c * tileSize, origin.y + r * tileSize);
                 }
                 // drawing an entity on a Tile
-                if (tileMap[i].containsEntity()) {
-                    tileMap[i].getEntity().render(batch, true);
-                }
+                Entity entity = entities.get(i);
+                if (entity != null) entity.render(batch, true);
             }
         }
     }
@@ -317,14 +559,17 @@ public class TileMap {
      *
      * @param batch
      */
-    public void render(SpriteBatch batch, OrthographicCamera cam) {
-        for (int i = 0; i < tileMap.length; i++) {
-            if (tileInsideCamera(tileMap[i], cam)) {
-                int r = i / mapWidth;
-                int c = i % mapWidth;
+    public void render(SpriteBatch batch) {
+        if (staticCache != null) {
+            renderStaticCache(batch, StaticTileCache.MIDDLE);
+            return;
+        }
+        for (int r = viewMinRow; r <= viewMaxRow; r++) {
+            for (int c = viewMinCol; c <= viewMaxCol; c++) {
+                int i = r * mapWidth + c;
 
-                if (!tileMap[i].animated && !tileMap[i].isSpecial() && tileMap[i].sprite != null) {
-                    batch.draw(tileMap[i].sprite, origin.x + c * tileSize, origin.y + r * tileSize);
+                if (tileAnimations[i] == -1 && !Tile.isSpecial(tileTypes[i]) && tileIds[i] != -1) {
+                    batch.draw(getTileSprite(i), origin.x + c * tileSize, origin.y + r * tileSize);
                 }
             }
         }
@@ -335,64 +580,22 @@ public class TileMap {
      *
      * @param batch
      */
-    public void renderTopLayer(SpriteBatch batch, OrthographicCamera cam) {
-        for (int i = 0; i < topLayer.length; i++) {
-            if (tileInsideCamera(tileMap[i], cam)) {
-                int r = i / mapWidth;
-                int c = i % mapWidth;
+    public void renderTopLayer(SpriteBatch batch) {
+        if (!hasTopLayer) return;
+        if (staticCache != null) {
+            renderStaticCache(batch, StaticTileCache.TOP);
+            return;
+        }
+        for (int r = viewMinRow; r <= viewMaxRow; r++) {
+            for (int c = viewMinCol; c <= viewMaxCol; c++) {
+                int i = r * mapWidth + c;
 
-                if (topLayer[i] != null)
-                    batch.draw(topLayer[i], origin.x + c * tileSize, origin.y + r * tileSize);
+                if (topLayer[i] != -1)
+                    batch.draw(getTopSprite(i), origin.x + c * tileSize, origin.y + r * tileSize);
             }
         }
     }
 
-    /**
-     * Converts a tile id corresponding to an animated tile to its animated tile format
-     *
-     * @param id
-     * @return a String with the animated tile id in the correct format
-     */
-    private String getAnimatedTileConversion(String id) {
-        if (id.startsWith("e")) return id;
-        int ret = Integer.parseInt(id);
-        if (ret == 64) return "a3|2|2";
-        if (ret == 80) return "a4|4|3";
-        if (ret == 96) return "a5|2|2";
-        if (ret == 112) return "a6|3|3";
-        if (ret == 128) return "a7|3|3";
-        if (ret == 144) return "a8|3|3";
-        if (ret == 160) return "a9|3|3";
-        if (ret == 176) return "a10|2|2";
-        if (ret == 192) return "a0|2|2";
-        if (ret == 208) return "a1|2|2";
-        if (ret == 224) return "a2|4|3";
-        if (ret == 240) return "a11|3|3";
-        if (ret == 63) return "a12|2|2";
-        if (ret == 79) return "a13|6|4";
-        if (ret == 94 || ret == 95) return "a14|2|2";
-        return id;
-    }
-
-    /**
-     * Determines if a certain tile is within the camera rendering distance.
-     *
-     * 6 tile from player x
-     * 4 tile from player y
-     *
-     * @param t
-     * @param cam map camera
-     * @return
-     */
-    public boolean tileInsideCamera(Tile t, OrthographicCamera cam) {
-        int x = (int) t.tilePosition.x * tileSize;
-        int y = (int) t.tilePosition.y * tileSize;
-        int xOffset = tileSize * 7;
-        int yOffset = tileSize * 5;
-        return x >= cam.position.x - xOffset - tileSize && x <= cam.position.x + xOffset &&
-                y >= cam.position.y - yOffset && y <= cam.position.y + yOffset;
-    }
-
     /**
      * Adds an Entity to a specific tile on the map
      *
@@ -401,7 +604,7 @@ public class TileMap {
      * @param tileY
      */
     public void addEntity(Entity entity, int tileX, int tileY) {
-        tileMap[tileY * mapWidth + tileX].addEntity(entity);
+        addEntityAt(entity, tileY * mapWidth + tileX);
     }
 
     /**
@@ -411,7 +614,15 @@ public class TileMap {
      * @param coords
      */
     public void addEntity(Entity entity, Vector2 coords) {
-        tileMap[(int) (coords.y * mapWidth + coords.x)].addEntity(entity);
+        addEntityAt(entity, (int) (coords.y * mapWidth + coords.x));
+    }
+
+    private void addEntityAt(Entity entity, int index) {
+        IntArray cells = pageIn(getChunk(index));
+        if (entity == null || entities.containsKey(index)) return;
+        entities.put(index, entity);
+        cells.add(index);
+        if (minimap != null) minimap.addMarker(index);
     }
 
     /**
@@ -421,7 +632,7 @@ public class TileMap {
      * @param tileY
      */
     public void removeEntity(int tileX, int tileY) {
-        tileMap[tileY * mapWidth + tileX].removeEntity();
+        removeEntity(tileY * mapWidth + tileX);
     }
 
     /**
@@ -430,7 +641,20 @@ public class TileMap {
      * @param coords
      */
     public void removeEntity(Vector2 coords) {
-        tileMap[(int) (coords.y * mapWidth + coords.x)].removeEntity();
+        removeEntity((int) (coords.y * mapWidth + coords.x));
+    }
+
+    /**
+     * Cell index version
+     *
+     * @param cell
+     */
+    public void removeEntity(int cell) {
+        IntArray cells = pageIn(getChunk(cell));
+        if (entities.remove(cell) != null) {
+            cells.removeValue(cell);
+            if (minimap != null) minimap.removeMarker(cell);
+        }
     }
 
     /**
@@ -441,7 +665,7 @@ public class TileMap {
      * @return
      */
     public Entity getEntity(int tileX, int tileY) {
-        return tileMap[tileY * mapWidth + tileX].getEntity();
+        return getEntity(tileY * mapWidth + tileX);
     }
 
     /**
@@ -451,7 +675,18 @@ public class TileMap {
      * @return
      */
     public Entity getEntity(Vector2 coords) {
-        return tileMap[(int) (coords.y * mapWidth + coords.x)].getEntity();
+        return getEntity((int) (coords.y * mapWidth + coords.x));
+    }
+
+    /**
+     * Cell index version
+     *
+     * @param cell
+     * @return
+     */
+    public Entity getEntity(int cell) {
+        pageIn(getChunk(cell));
+        return entities.get(cell);
     }
 
     /**
@@ -462,7 +697,7 @@ public class TileMap {
      * @return
      */
     public boolean containsEntity(int tileX, int tileY) {
-        return tileMap[tileY * mapWidth + tileX].containsEntity();
+        return getEntity(tileY * mapWidth + tileX) != null;
     }
 
     /**
@@ -472,7 +707,35 @@ public class TileMap {
      * @return
      */
     public boolean containsEntity(Vector2 coords) {
-        return tileMap[(int) (coords.y * mapWidth + coords.x)].containsEntity();
+        return getEntity((int) (coords.y * mapWidth + coords.x)) != null;
+    }
+
+    /**
+     * Cell index version
+     *
+     * @param cell
+     * @return
+     */
+    public boolean containsEntity(int cell) {
+        return getEntity(cell) != null;
+    }
+
+    /**
+     * Whether a cell holds or will spawn an Entity, without paging in its chunk
+     * Unpaged chunks are answered from their spawn table
+     *
+     * @param cell
+     * @return
+     */
+    public boolean isOccupied(int cell) {
+        int chunk = getChunk(cell);
+        if (chunkEntities[chunk] != null) return entities.containsKey(cell);
+        IntArray spawns = chunkSpawns[chunk];
+        if (spawns == null) return false;
+        for (int i = 0; i < spawns.size; i++) {
+            if (data.entities[spawns.get(i) * 2] == cell) return true;
+        }
+        return false;
     }
 
     /**
@@ -482,7 +745,7 @@ public class TileMap {
      * @param tileY
      */
     public void setTile(int tileX, int tileY, Tile tile) {
-        tileMap[tileY * mapWidth + tileX] = tile;
+        replaceTile(tileY * mapWidth + tileX, tile);
     }
 
     /**
@@ -492,7 +755,7 @@ public class TileMap {
      * @param tile
      */
     public void setTile(Vector2 tilePosition, Tile tile) {
-        tileMap[(int) (tilePosition.y * mapWidth + tilePosition.x)] = tile;
+        replaceTile((int) (tilePosition.y * mapWidth + tilePosition.x), tile);
     }
 
     /**
@@ -503,9 +766,37 @@ public class TileMap {
      * @param id
      */
     public void setTile(int tileX, int tileY, int id) {
-        int r = id / rm.tiles16x16[0].length;
-        int c = id % rm.tiles16x16.length;
-        tileMap[tileY * mapWidth + tileX] = new Tile(id, rm.tiles16x16[r][c], new Vector2(tileX, tileY));
+        int index = tileY * mapWidth + tileX;
+        boolean baked = getTileSprite(index) != null;
+        setCell(index, id, -1);
+        removeEntity(index);
+        if (staticCache != null && (baked || getTileSprite(index) != null)) staticCache.invalidate(index);
+    }
+
+    /**
+     * Copies a Tile into the tile layer at a cell index and keeps
+     * the static tile cache in sync
+     * The sprite of a non animated tile is looked up from its id
+     *
+     * @param index
+     * @param tile
+     */
+    private void replaceTile(int index, Tile tile) {
+        boolean baked = getTileSprite(index) != null;
+
+        int anim = -1;
+        if (tile.animated) {
+            anim = animations.indexOf(tile.anim, true);
+            if (anim == -1) {
+                anim = animations.size;
+                animations.add(tile.anim);
+            }
+        }
+        setCell(index, tile.id, anim);
+        removeEntity(index);
+        addEntityAt(tile.getEntity(), index);
+
+        if (staticCache != null && (baked || getTileSprite(index) != null)) staticCache.invalidate(index);
     }
 
     /**
@@ -539,16 +830,95 @@ public class TileMap {
     }
 
     /**
-     * Returns a tile from the tile map at (x,y) tile position
+     * Converts tile coordinates to map coordinates without allocating
+     *
+     * @param tileX
+     * @param tileY
+     * @param out set to the map coordinates
+     * @return out
+     */
+    public Vector2 toMapCoords(int tileX, int tileY, Vector2 out) {
+        return out.set(tileX * tileSize, tileY * tileSize);
+    }
+
+    /**
+     * Returns the cell index of the tile at a point in map coordinates
+     * Used instead of toTileCoords on hot paths since it doesn't allocate
+     *
+     * @param mapX
+     * @param mapY
+     * @return
+     */
+    public int toCell(float mapX, float mapY) {
+        return (int) (mapY / tileSize) * mapWidth + (int) (mapX / tileSize);
+    }
+
+    /**
+     * Returns the cell index of a tile position
+     *
+     * @param tileX
+     * @param tileY
+     * @return
+     */
+    public int getCell(int tileX, int tileY) {
+        return tileY * mapWidth + tileX;
+    }
+
+    public int getCellX(int cell) {
+        return cell % mapWidth;
+    }
+
+    public int getCellY(int cell) {
+        return cell / mapWidth;
+    }
+
+    /**
+     * Returns a copy of the tile at (x,y) tile position
+     * Use getTileType or isBlocked where only the type is needed
      *
      * @return Tile
      */
     public Tile getTile(int tileX, int tileY) {
-        return tileMap[tileY * mapWidth + tileX];
+        return createTile(tileY * mapWidth + tileX);
     }
 
     public Tile getTile(Vector2 coords) {
-        return tileMap[(int) (coords.y * mapWidth + coords.x)];
+        return createTile((int) (coords.y * mapWidth + coords.x));
+    }
+
+    public Tile getTile(int cell) {
+        return createTile(cell);
+    }
+
+    private Tile createTile(int index) {
+        Vector2 tilePosition = new Vector2(index % mapWidth, index / mapWidth);
+        Tile tile;
+        if (tileAnimations[index] != -1) tile = new Tile(tileIds[index], animations.get(tileAnimations[index]), tilePosition);
+        else tile = new Tile(tileIds[index], getTileSprite(index), tilePosition);
+        tile.addEntity(getEntity(index));
+        return tile;
+    }
+
+    /**
+     * Returns the type of the tile at (x,y) tile position
+     *
+     * @param tileX
+     * @param tileY
+     * @return one of the Tile type constants
+     */
+    public byte getTileType(int tileX, int tileY) {
+        return tileTypes[tileY * mapWidth + tileX];
+    }
+
+    /**
+     * Is the tile at (x,y) tile position blocked?
+     *
+     * @param tileX
+     * @param tileY
+     * @return
+     */
+    public boolean isBlocked(int tileX, int tileY) {
+        return collision.get(tileY * mapWidth + tileX);
     }
 
     /**
@@ -558,10 +928,7 @@ public class TileMap {
      * @return Boolean
      */
     public boolean mapContains(Tile tile) {
-        for (int i = 0; i < tileMap.length; i++) {
-            if (tileMap[i].equals(tile)) return true;
-        }
-        return false;
+        return mapContains(tile.id);
     }
 
     /**
@@ -571,27 +938,32 @@ public class TileMap {
      * @return Boolean
      */
     public boolean mapContains(int id) {
-        for (int i = 0; i < tileMap.length; i++) {
-            if (tileMap[i].id == id) return true;
-        }
-        return false;
+        return idCounts.get(id, 0) > 0;
     }
 
     /**
-     * Returns a list of teleportation tiles on the map not including
-     * the one the player is currently standing on
+     * Picks a random teleportation tile on the map other than a given one
      *
-     * @param currentTile
-     * @return
+     * @param tileX
+     * @param tileY
+     * @return the cell index of the teleportation tile or -1 if there is none
      */
-    public Array<Tile> getTeleportationTiles(Tile currentTile) {
-        Array<Tile> ret = new Array<Tile>();
-        for (int i = 0; i < tileMap.length; i++) {
-            if (tileMap[i].isTeleport() && !tileMap[i].equals(currentTile)) {
-                ret.add(tileMap[i]);
-            }
-        }
-        return ret;
+    public int getTeleportDestination(int tileX, int tileY) {
+        IntArray cells = typeCells[Tile.TELEPORT];
+        int current = cells.indexOf(tileY * mapWidth + tileX);
+        int candidates = current == -1 ? cells.size : cells.size - 1;
+        if (candidates <= 0) return -1;
+        int i = MathUtils.random(candidates - 1);
+        // skip over the current tile
+        if (current != -1 && i >= current) i++;
+        return cells.get(i);
+    }
+
+    @Override
+    public void dispose() {
+        if (staticCache != null) staticCache.dispose();
+        if (minimap != null) minimap.dispose();
+        if (fog != null) fog.dispose();
     }
 
 }
\ No newline at end of file
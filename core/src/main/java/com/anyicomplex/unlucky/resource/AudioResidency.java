@@ -0,0 +1,104 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.resource;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Reference counted music and sounds on top of the AssetManager.
+ * An asset is queued when its first reference is acquired and unloaded when its last is released,
+ * so audio shared between worlds stays loaded while switching between them.
+ */
+public class AudioResidency {
+
+    private final AssetManager assetManager;
+    private final ObjectIntMap<String> references = new ObjectIntMap<String>();
+
+    public AudioResidency(AssetManager assetManager) {
+        this.assetManager = assetManager;
+    }
+
+    /**
+     * Adds a reference, queueing the asset if it isn't resident
+     * The asset loads in the background with the AssetManager's updates
+     *
+     * @param path
+     * @param type
+     */
+    public void acquire(String path, Class<?> type) {
+        if (references.getAndIncrement(path, 0, 1) == 0) assetManager.load(path, type);
+    }
+
+    /**
+     * Removes a reference, unloading the asset once nothing refers to it
+     *
+     * @param path
+     */
+    public void release(String path) {
+        int count = references.get(path, 0);
+        if (count == 0) return;
+        if (count == 1) {
+            references.remove(path, 0);
+            assetManager.unload(path);
+        }
+        else references.put(path, count - 1);
+    }
+
+    /**
+     * Returns an acquired asset, blocking until it's loaded if it's still queued
+     *
+     * @param path
+     * @param type
+     * @param <T>
+     * @return
+     */
+    public <T> T get(String path, Class<T> type) {
+        if (!assetManager.isLoaded(path, type)) assetManager.finishLoadingAsset(path);
+        return assetManager.get(path, type);
+    }
+
+    public boolean isResident(String path) {
+        return references.containsKey(path);
+    }
+
+}
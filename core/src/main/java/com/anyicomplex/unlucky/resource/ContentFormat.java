@@ -0,0 +1,102 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.resource;
+
+/**
+ * Describes the compiled binary content bundle produced at build time by the content compiler
+ * from the moves, items, shop items and worlds json and read back by ResourceManager.
+ * The json files remain the source, the bundle only saves parsing them at startup.
+ *
+ * All values are little-endian. Every string is stored once in the string table
+ * and referenced by its short index:
+ *
+ * int magic ("UCNT")
+ * short version
+ * short numStrings
+ * numStrings * (short byteLength, byte[byteLength] utf-8)
+ * 4 * (short numMoves, numMoves * move) accurate, wide, crit and healing moves
+ * short numBosses
+ * numBosses * (short numMoves, numMoves * move) boss movepools by bossIndex
+ * 4 * (short numItems, numItems * item) items by rarity
+ * 4 * (short numItems, numItems * (item, int price)) shop items by rarity
+ * short numWorlds
+ * numWorlds * (short name, short shortDesc, short longDesc, short numLevels,
+ *     numLevels * (short name, short avgLevel))
+ *
+ * move: byte type, short name, float a, float b, int c
+ *     accurate (0) and wide (1): a - minDamage, b - maxDamage
+ *     crit (2): a - damage, c - crit
+ *     healing (3): a - minHeal, b - maxHeal, c - dmgReduction
+ * item: byte type, short name, short desc, short imgIndex, short minLevel, short maxLevel,
+ *     int hp, int mhp, int dmg, int acc, int sell, int exp, int eChance
+ *     stats that don't apply to the item's type are 0
+ *
+ * This class must not depend on libGDX so the content compiler can use it at build time.
+ */
+public class ContentFormat {
+
+    // "UCNT" read as a little-endian int
+    public static final int MAGIC = 0x544E4355;
+    public static final short VERSION = 1;
+
+    public static final String BUNDLE_PATH = "content.ucnt";
+
+    public static final String MOVES_PATH = "moves/moves.json";
+    public static final String BOSS_MOVES_PATH = "moves/boss_moves.json";
+    public static final String ITEMS_PATH = "items/items.json";
+    public static final String SHOP_ITEMS_PATH = "items/shopitems.json";
+    public static final String WORLDS_PATH = "maps/worlds.json";
+
+    // move types as stored in the bundle
+    public static final int MOVE_ACCURATE = 0;
+    public static final int MOVE_WIDE = 1;
+    public static final int MOVE_CRIT = 2;
+    public static final int MOVE_HEAL = 3;
+
+    // json keys of the regular movepools in bundle order
+    public static final String[] MOVE_POOLS = { "accurate", "wide", "crit", "healing" };
+    // json keys of the boss movepools in bossIndex order
+    public static final String[] BOSSES = { "slime", "redreaper", "icegolem" };
+
+    public static final int NUM_RARITIES = 4;
+
+}
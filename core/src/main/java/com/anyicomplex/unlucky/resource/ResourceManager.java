@@ -43,14 +43,18 @@ package com.anyicomplex.unlucky.resource;
 
 import com.anyicomplex.unlucky.battle.Move;
 import com.anyicomplex.unlucky.inventory.Item;
-import com.anyicomplex.unlucky.inventory.ShopItem;
+import com.anyicomplex.unlucky.inventory.ItemDefinition;
 import com.anyicomplex.unlucky.map.Level;
+import com.anyicomplex.unlucky.map.MapData;
+import com.anyicomplex.unlucky.map.WeatherType;
 import com.anyicomplex.unlucky.map.World;
 import com.anyicomplex.unlucky.util.Disposer;
+import com.anyicomplex.unlucky.util.PlatformSupport;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -61,8 +65,18 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * Main resource loading and storage class. Uses an AssetManager to manage textures, sounds,
@@ -73,8 +87,6 @@ import com.badlogic.gdx.utils.JsonValue;
 public class ResourceManager implements Disposable {
 
     public AssetManager assetManager;
-    // json
-    private JsonReader jsonReader;
 
     // Texture Atlas that contains every sprite
     public TextureAtlas atlas;
@@ -143,10 +155,9 @@ public class ResourceManager implements Disposable {
 
     // Music
     public Music menuTheme;
-    public Music slimeForestTheme;
-    public Music spookyGraveyardTheme;
-    public Music frostyCaveTheme;
     public Music battleTheme;
+    // theme of the world acquired with enterWorld, null outside of a world
+    public Music worldTheme;
 
     // Sound Effects
     public Sound buttonclick0;
@@ -161,6 +172,7 @@ public class ResourceManager implements Disposable {
     public Sound yellowattack;
     public Sound heal;
     public Sound death;
+    // weather ambience, only resident while a world is entered
     public Sound thunder;
     public Sound lightrain;
     public Sound heavyrain;
@@ -183,49 +195,281 @@ public class ResourceManager implements Disposable {
     public final Array<Array<Move>> bossMoves = new Array<Array<Move>>();
 
     // contains all the items separated by rarity
-    public final Array<Array<Item>> items = new Array<Array<Item>>();
+    public final Array<Array<ItemDefinition>> items = new Array<Array<ItemDefinition>>();
+    // for each rarity, the indices into items of every item whose range contains a level
+    // the candidates for level l are levelItems[levelStart[l]] until levelItems[levelStart[l + 1]]
+    private final int[][] levelStart = new int[4][];
+    private final int[][] levelItems = new int[4][];
     // contains all the shop items separated by rarity
-    public final Array<Array<ShopItem>> shopItems = new Array<Array<ShopItem>>();
+    public final Array<Array<ItemDefinition>> shopItems = new Array<Array<ItemDefinition>>();
 
     // Fonts
-    public final BitmapFont pixel10;
+    public BitmapFont pixel10;
+
+    // loading stages, in order
+    private static final int MENU = 0;
+    private static final int CONTENT = 1;
+    private static final int GAME = 2;
+    private static final int DONE = 3;
+    private int stage = MENU;
+    // milliseconds of asset loading per call to update
+    private static final int LOAD_BUDGET = 10;
+
+    // content read on a worker thread while the textures load, either the compiled
+    // bundle as a ByteBuffer or the parsed json if there is no bundle
+    private AsyncExecutor executor = new AsyncExecutor(1, "ResourceManager");
+    private AsyncResult<Object> content;
 
+    // music volume to apply to music that hasn't loaded yet
+    private float musicVolume = 1.f;
+
+    // world music and the weather ambience its maps use are loaded per world instead of for the whole session
+    private static final String[] WORLD_THEMES = {
+        "music/slime_forest_theme.ogg",
+        "music/spooky_graveyard_theme.ogg",
+        "music/frosty_cave_theme.ogg"
+    };
+    private static final String[] AMBIENCE = {
+        "sfx/light_rain.ogg",
+        "sfx/heavy_rain.ogg",
+        "sfx/thunder.ogg"
+    };
+    private static final int LIGHT_RAIN = 1;
+    private static final int HEAVY_RAIN = 1 << 1;
+    private static final int THUNDER = 1 << 2;
+    // AMBIENCE bits needed by the maps of each world, read from the map headers once
+    private final IntIntMap worldAmbience = new IntIntMap();
+    private AudioResidency audio;
+    // world whose audio is currently acquired, -1 if none
+    private int residentWorld = -1;
+    private int residentAmbience = 0;
+
+    /**
+     * Queues the assets the menu needs first and starts reading the content
+     * Nothing is usable until update returns true
+     */
     public ResourceManager() {
         assetManager = new AssetManager();
-        jsonReader = new JsonReader();
+        audio = new AudioResidency(assetManager);
+
+        content = executor.submit(new AsyncTask<Object>() {
+            @Override
+            public Object call() {
+                FileHandle bundle = Gdx.files.internal(ContentFormat.BUNDLE_PATH);
+                if (bundle.exists()) return PlatformSupport.readBuffer(bundle);
+                return parseContent();
+            }
+        });
 
+        // everything the menu screens use
         assetManager.load("textures.atlas", TextureAtlas.class);
         assetManager.load("skins/ui.atlas", TextureAtlas.class);
         assetManager.load("skins/dialog.atlas", TextureAtlas.class);
 
         assetManager.load("music/menu_theme.ogg", Music.class);
-        assetManager.load("music/slime_forest_theme.ogg", Music.class);
-        assetManager.load("music/spooky_graveyard_theme.ogg", Music.class);
-        assetManager.load("music/frosty_cave_theme.ogg", Music.class);
-        assetManager.load("music/battle_theme.ogg", Music.class);
 
         assetManager.load("sfx/button_click0.ogg", Sound.class);
         assetManager.load("sfx/button_click1.ogg", Sound.class);
         assetManager.load("sfx/button_click2.ogg", Sound.class);
         assetManager.load("sfx/inventory_select_click.ogg", Sound.class);
         assetManager.load("sfx/move_select_click.ogg", Sound.class);
-        assetManager.load("sfx/text_progression.wav", Sound.class);
-        assetManager.load("sfx/hit.ogg", Sound.class);
-        assetManager.load("sfx/blue_attack.ogg", Sound.class);
-        assetManager.load("sfx/red_attack.ogg", Sound.class);
-        assetManager.load("sfx/yellow_attack.ogg", Sound.class);
-        assetManager.load("sfx/heal.ogg", Sound.class);
-        assetManager.load("sfx/death.ogg", Sound.class);
-        assetManager.load("sfx/thunder.ogg", Sound.class);
-        assetManager.load("sfx/light_rain.ogg", Sound.class);
-        assetManager.load("sfx/heavy_rain.ogg", Sound.class);
-        assetManager.load("sfx/teleport.ogg", Sound.class);
-        assetManager.load("sfx/movement.ogg", Sound.class);
-        assetManager.load("sfx/finish.ogg", Sound.class);
-        assetManager.load("sfx/battle_start.ogg", Sound.class);
+    }
 
-        assetManager.finishLoading();
+    /**
+     * Advances loading by a few milliseconds, called once per frame
+     *
+     * @return whether the menu assets and content are ready
+     */
+    public boolean update() {
+        return advance(false);
+    }
+
+    /**
+     * Blocks until every asset is loaded
+     * The game never calls this on a frame, the level select waits for isLoading instead
+     */
+    public void finishLoading() {
+        while (stage != DONE) advance(true);
+    }
+
+    /**
+     * Whether there are still assets loading in the background, including world audio
+     * queued by enterWorld, which needs update to be called every frame
+     *
+     * @return
+     */
+    public boolean isLoading() {
+        return stage != DONE || !assetManager.isFinished();
+    }
 
+    /**
+     * Loading progress until the menu is ready between 0 and 1
+     *
+     * @return
+     */
+    public float getProgress() {
+        if (stage == MENU) return assetManager.getProgress() * 0.9f;
+        if (stage == CONTENT) return 0.9f;
+        return 1;
+    }
+
+    private boolean advance(boolean block) {
+        if (stage == MENU) {
+            if (block) assetManager.finishLoading();
+            else if (!assetManager.update(LOAD_BUDGET)) return false;
+            loadMenuAssets();
+            queueGameAssets();
+            stage = CONTENT;
+        }
+        if (stage == CONTENT) {
+            if (!block && !content.isDone()) return false;
+            Object result = content.get();
+            if (!(result instanceof ByteBuffer) || !loadContent((ByteBuffer) result)) {
+                JsonValue[] json = result instanceof JsonValue[] ? (JsonValue[]) result : parseContent();
+                loadWorlds(json[0]);
+                loadMoves(json[1], json[2]);
+                loadItems(json[3], json[4]);
+            }
+            // set smove icons
+            for (int i = 0; i < Util.SMOVES_ORDER_BY_ID.length; i++) {
+                Util.SMOVES_ORDER_BY_ID[i].icon = new Image(smoveicons[i]);
+            }
+            content = null;
+            stage = GAME;
+        }
+        if (stage == GAME) {
+            if (block) assetManager.finishLoading();
+            else if (!assetManager.update(LOAD_BUDGET)) return true;
+            loadGameAssets();
+            stage = DONE;
+        }
+        // world audio acquired by enterWorld streams in the background
+        if (!block) assetManager.update(LOAD_BUDGET);
+        return true;
+    }
+
+    /**
+     * Parses the content json, used when there is no usable compiled bundle
+     *
+     * @return worlds, moves, boss moves, items and shop items
+     */
+    private JsonValue[] parseContent() {
+        JsonReader jsonReader = new JsonReader();
+        return new JsonValue[] {
+            jsonReader.parse(Gdx.files.internal(ContentFormat.WORLDS_PATH)),
+            jsonReader.parse(Gdx.files.internal(ContentFormat.MOVES_PATH)),
+            jsonReader.parse(Gdx.files.internal(ContentFormat.BOSS_MOVES_PATH)),
+            jsonReader.parse(Gdx.files.internal(ContentFormat.ITEMS_PATH)),
+            jsonReader.parse(Gdx.files.internal(ContentFormat.SHOP_ITEMS_PATH))
+        };
+    }
+
+    /**
+     * Creates the moves, items and worlds straight from the compiled content bundle
+     * See ContentFormat for the layout
+     *
+     * @param buffer
+     * @return false if the bundle was made for another version and nothing was loaded
+     */
+    private boolean loadContent(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt() != ContentFormat.MAGIC || buffer.getShort() != ContentFormat.VERSION) {
+            Gdx.app.error("ResourceManager", "Unsupported content bundle, loading the json instead");
+            return false;
+        }
+
+        // string table
+        String[] strings = new String[buffer.getShort()];
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getShort() & 0xFFFF;
+            if (length > bytes.length) bytes = new byte[length];
+            buffer.get(bytes, 0, length);
+            try {
+                strings[i] = new String(bytes, 0, length, "UTF-8");
+            }
+            catch (UnsupportedEncodingException e) {
+                throw new GdxRuntimeException(e);
+            }
+        }
+
+        // moves
+        loadMoves(buffer, strings, accurateMoves);
+        loadMoves(buffer, strings, wideMoves);
+        loadMoves(buffer, strings, critMoves);
+        loadMoves(buffer, strings, healMoves);
+        int numBosses = buffer.getShort();
+        for (int i = 0; i < numBosses; i++) {
+            Array<Move> pool = new Array<Move>();
+            loadMoves(buffer, strings, pool);
+            bossMoves.add(pool);
+        }
+
+        // items and shop items
+        for (int rarity = 0; rarity < ContentFormat.NUM_RARITIES; rarity++) {
+            Array<ItemDefinition> rare = new Array<ItemDefinition>();
+            int numItems = buffer.getShort();
+            for (int i = 0; i < numItems; i++) rare.add(loadItemDefinition(buffer, strings, rarity, false));
+            items.add(rare);
+            indexLevels(rarity, rare);
+        }
+        for (int rarity = 0; rarity < ContentFormat.NUM_RARITIES; rarity++) {
+            Array<ItemDefinition> rare = new Array<ItemDefinition>();
+            int numItems = buffer.getShort();
+            for (int i = 0; i < numItems; i++) rare.add(loadItemDefinition(buffer, strings, rarity, true));
+            shopItems.add(rare);
+        }
+
+        // worlds
+        int numWorlds = buffer.getShort();
+        for (int worldIndex = 0; worldIndex < numWorlds; worldIndex++) {
+            String worldName = strings[buffer.getShort()];
+            String shortDesc = strings[buffer.getShort()];
+            String longDesc = strings[buffer.getShort()];
+            int numLevels = buffer.getShort();
+            Level[] temp = new Level[numLevels];
+            for (int levelIndex = 0; levelIndex < numLevels; levelIndex++) {
+                temp[levelIndex] = new Level(worldIndex, levelIndex, strings[buffer.getShort()], buffer.getShort());
+            }
+            worlds.add(new World(worldName, shortDesc, longDesc, numLevels, temp));
+        }
+        return true;
+    }
+
+    private void loadMoves(ByteBuffer buffer, String[] strings, Array<Move> pool) {
+        int numMoves = buffer.getShort();
+        for (int i = 0; i < numMoves; i++) {
+            int type = buffer.get();
+            String name = strings[buffer.getShort()];
+            float a = buffer.getFloat();
+            float b = buffer.getFloat();
+            int c = buffer.getInt();
+            if (type == ContentFormat.MOVE_CRIT) pool.add(new Move(name, a, c));
+            else if (type == ContentFormat.MOVE_HEAL) pool.add(new Move(name, a, b, c));
+            else pool.add(new Move(type, name, a, b));
+        }
+    }
+
+    private ItemDefinition loadItemDefinition(ByteBuffer buffer, String[] strings, int rarity, boolean shop) {
+        int type = buffer.get();
+        String name = strings[buffer.getShort()];
+        String desc = strings[buffer.getShort()];
+        int imgIndex = buffer.getShort();
+        int minLevel = buffer.getShort();
+        int maxLevel = buffer.getShort();
+        int hp = buffer.getInt();
+        int mhp = buffer.getInt();
+        int dmg = buffer.getInt();
+        int acc = buffer.getInt();
+        int sell = buffer.getInt();
+        int exp = buffer.getInt();
+        int eChance = buffer.getInt();
+        int price = shop ? buffer.getInt() : 0;
+        return new ItemDefinition(name, desc, type, rarity, imgIndex, minLevel, maxLevel,
+            hp, mhp, dmg, acc, sell, exp, eChance, price, shop, getItemSprite(shop, type, imgIndex));
+    }
+
+    private void loadMenuAssets() {
         atlas = assetManager.get("textures.atlas", TextureAtlas.class);
 
         // load font
@@ -298,19 +542,38 @@ public class ResourceManager implements Disposable {
         // fix font spacing
         pixel10.setUseIntegerPositions(false);
 
-        // load music
         menuTheme = assetManager.get("music/menu_theme.ogg", Music.class);
-        slimeForestTheme = assetManager.get("music/slime_forest_theme.ogg", Music.class);
-        spookyGraveyardTheme = assetManager.get("music/spooky_graveyard_theme.ogg", Music.class);
-        frostyCaveTheme = assetManager.get("music/frosty_cave_theme.ogg", Music.class);
-        battleTheme = assetManager.get("music/battle_theme.ogg", Music.class);
+        menuTheme.setVolume(musicVolume);
 
-        // load sfx
         buttonclick0 = assetManager.get("sfx/button_click0.ogg", Sound.class);
         buttonclick1 = assetManager.get("sfx/button_click1.ogg", Sound.class);
         buttonclick2 = assetManager.get("sfx/button_click2.ogg", Sound.class);
         invselectclick = assetManager.get("sfx/inventory_select_click.ogg", Sound.class);
         moveselectclick = assetManager.get("sfx/move_select_click.ogg", Sound.class);
+    }
+
+    /**
+     * Battle and world music and sounds, loaded while the menu is shown
+     */
+    private void queueGameAssets() {
+        assetManager.load("music/battle_theme.ogg", Music.class);
+
+        assetManager.load("sfx/text_progression.wav", Sound.class);
+        assetManager.load("sfx/hit.ogg", Sound.class);
+        assetManager.load("sfx/blue_attack.ogg", Sound.class);
+        assetManager.load("sfx/red_attack.ogg", Sound.class);
+        assetManager.load("sfx/yellow_attack.ogg", Sound.class);
+        assetManager.load("sfx/heal.ogg", Sound.class);
+        assetManager.load("sfx/death.ogg", Sound.class);
+        assetManager.load("sfx/teleport.ogg", Sound.class);
+        assetManager.load("sfx/movement.ogg", Sound.class);
+        assetManager.load("sfx/finish.ogg", Sound.class);
+        assetManager.load("sfx/battle_start.ogg", Sound.class);
+    }
+
+    private void loadGameAssets() {
+        battleTheme = assetManager.get("music/battle_theme.ogg", Music.class);
+
         textprogression = assetManager.get("sfx/text_progression.wav", Sound.class);
         hit = assetManager.get("sfx/hit.ogg", Sound.class);
         blueattack = assetManager.get("sfx/blue_attack.ogg", Sound.class);
@@ -318,22 +581,10 @@ public class ResourceManager implements Disposable {
         yellowattack = assetManager.get("sfx/yellow_attack.ogg", Sound.class);
         heal = assetManager.get("sfx/heal.ogg", Sound.class);
         death = assetManager.get("sfx/death.ogg", Sound.class);
-        thunder = assetManager.get("sfx/thunder.ogg", Sound.class);
-        lightrain = assetManager.get("sfx/light_rain.ogg", Sound.class);
-        heavyrain = assetManager.get("sfx/heavy_rain.ogg", Sound.class);
         teleport = assetManager.get("sfx/teleport.ogg", Sound.class);
         movement = assetManager.get("sfx/movement.ogg", Sound.class);
         finish = assetManager.get("sfx/finish.ogg", Sound.class);
         battlestart = assetManager.get("sfx/battle_start.ogg", Sound.class);
-
-        loadWorlds();
-        loadMoves();
-        loadItems();
-
-        // set smove icons
-        for (int i = 0; i < Util.SMOVES_ORDER_BY_ID.length; i++) {
-            Util.SMOVES_ORDER_BY_ID[i].icon = new Image(smoveicons[i]);
-        }
     }
 
     /**
@@ -353,9 +604,7 @@ public class ResourceManager implements Disposable {
         return ret;
     }
 
-    private void loadWorlds() {
-        // parse worlds.json
-        JsonValue base = jsonReader.parse(Gdx.files.internal("maps/worlds.json"));
+    private void loadWorlds(JsonValue base) {
 
         int worldIndex = 0;
         for (JsonValue world : base.get("worlds")) {
@@ -377,10 +626,7 @@ public class ResourceManager implements Disposable {
         }
     }
 
-    private void loadMoves() {
-        // parse moves.json
-        JsonValue base = jsonReader.parse(Gdx.files.internal("moves/moves.json"));
-        JsonValue boss = jsonReader.parse(Gdx.files.internal("moves/boss_moves.json"));
+    private void loadMoves(JsonValue base, JsonValue boss) {
 
         // accurate Moves
         for (JsonValue move : base.get("accurate")) {
@@ -443,11 +689,7 @@ public class ResourceManager implements Disposable {
         bossMoves.add(igMoves);
     }
 
-    private void loadItems() {
-        // parse items.json
-        JsonValue itemPool = jsonReader.parse(Gdx.files.internal("items/items.json"));
-        // parse shopitems.json
-        JsonValue shopitemPool = jsonReader.parse(Gdx.files.internal("items/shopitems.json"));
+    private void loadItems(JsonValue itemPool, JsonValue shopitemPool) {
 
         // load by rarity
         for (int i = 0; i < 4; i++) {
@@ -457,66 +699,137 @@ public class ResourceManager implements Disposable {
     }
 
     private void loadItems(JsonValue itemPool, int rarity, String r) {
-        Array<Item> rare = new Array<Item>();
+        Array<ItemDefinition> rare = new Array<ItemDefinition>();
         for (JsonValue i : itemPool.get(r)) {
             int type = i.getInt("type");
-            if (type == 0) {
-                rare.add(new Item(this, i.getString("name"), i.getString("desc"),
-                    rarity, i.getInt("imgIndex"), i.getInt("minLevel"), i.getInt("maxLevel"),
-                    i.getInt("hp"), i.getInt("exp"), i.getInt("sell")));
-            }
-            else if (type == 1) {
-                rare.add(new Item(this, i.getString("name"), i.getString("desc"),
-                    rarity, i.getInt("imgIndex"), i.getInt("minLevel"), i.getInt("maxLevel"), i.getInt("sell")));
-            }
-            else if (type >= 2 && type <= 9) {
-                rare.add(new Item(this, i.getString("name"), i.getString("desc"),
-                    i.getInt("type"), rarity, i.getInt("imgIndex"), i.getInt("minLevel"), i.getInt("maxLevel"),
-                    i.getInt("mhp"), i.getInt("dmg"), i.getInt("acc"), i.getInt("sell")));
-            }
-            else if (type == 10) {
-                rare.add(new Item(this, i.getString("name"), i.getString("desc"), rarity, i.getInt("imgIndex"),
-                    i.getInt("minLevel"), i.getInt("maxLevel"), i.getInt("eChance"), i.getInt("sell")));
+            if (type >= 0 && type <= 10) {
+                rare.add(loadItemDefinition(i, type, rarity, i.getInt("minLevel"), i.getInt("maxLevel"), 0, false));
             }
         }
         items.add(rare);
+        indexLevels(rarity, rare);
+    }
+
+    /**
+     * Builds the level to candidate items table of a rarity so drops don't scan every item
+     *
+     * @param rarity
+     * @param rare
+     */
+    private void indexLevels(int rarity, Array<ItemDefinition> rare) {
+        int maxLevel = -1;
+        for (ItemDefinition item : rare) maxLevel = Math.max(maxLevel, item.maxLevel);
+
+        // count the candidates of each level, then turn the counts into offsets
+        int[] start = new int[maxLevel + 2];
+        for (ItemDefinition item : rare) {
+            for (int l = Math.max(item.minLevel, 0); l <= item.maxLevel; l++) start[l + 1]++;
+        }
+        for (int l = 0; l <= maxLevel; l++) start[l + 1] += start[l];
+
+        int[] fill = new int[maxLevel + 1];
+        System.arraycopy(start, 0, fill, 0, maxLevel + 1);
+        int[] candidates = new int[start[maxLevel + 1]];
+        for (int i = 0; i < rare.size; i++) {
+            ItemDefinition item = rare.get(i);
+            for (int l = Math.max(item.minLevel, 0); l <= item.maxLevel; l++) candidates[fill[l]++] = i;
+        }
+
+        levelStart[rarity] = start;
+        levelItems[rarity] = candidates;
+    }
+
+    /**
+     * Copies the indices into items of the drop candidates of a level
+     *
+     * @param rarity
+     * @param level
+     * @param out cleared first
+     */
+    void getLevelCandidates(int rarity, int level, IntArray out) {
+        out.clear();
+        int[] start = levelStart[rarity];
+        if (level < 0 || level >= start.length - 1) return;
+        out.addAll(levelItems[rarity], start[level], start[level + 1] - start[level]);
     }
 
     private void loadShopItems(JsonValue itemPool, int rarity, String r) {
-        Array<ShopItem> rare = new Array<ShopItem>();
+        Array<ItemDefinition> rare = new Array<ItemDefinition>();
         for (JsonValue i : itemPool.get(r)) {
             int type = i.getInt("type");
-            if (type == 0) {
-                rare.add(new ShopItem(this, i.getString("name"), i.getString("desc"),
-                    rarity, i.getInt("imgIndex"), i.getInt("level"), i.getInt("hp"),
-                    i.getInt("exp"), i.getInt("sell"), i.getInt("price")));
-            }
-            else if (type >= 2 && type <= 9) {
-                rare.add(new ShopItem(this, i.getString("name"), i.getString("desc"), type, rarity, i.getInt("imgIndex"),
-                    i.getInt("level"), i.getInt("mhp"), i.getInt("dmg"), i.getInt("acc"), i.getInt("sell"), i.getInt("price")));
-            }
-            else if (type == 10) {
-                rare.add(new ShopItem(this, i.getString("name"), i.getString("desc"), rarity, i.getInt("imgIndex"),
-                    i.getInt("level"), i.getInt("eChance"), i.getInt("sell"), i.getInt("price")));
+            // there are no misc items in the shop
+            if (type == 0 || (type >= 2 && type <= 10)) {
+                int level = i.getInt("level");
+                rare.add(loadItemDefinition(i, type, rarity, level, level, i.getInt("price"), true));
             }
         }
         shopItems.add(rare);
     }
 
-    private Item getItemCopy(Item item) {
-        if (item.type == 0)
-            return new Item(this, item.name, item.desc, item.rarity, item.imgIndex, item.minLevel, item.maxLevel, item.hp, item.exp, item.sell);
-        else if (item.type == 1)
-            return new Item(this, item.name, item.desc, item.rarity, item.imgIndex, item.minLevel, item.maxLevel, item.sell);
-        else if (item.type >= 2 && item.type <= 9)
-            return new Item(this, item.name, item.desc, item.type, item.rarity, item.imgIndex, item.minLevel, item.maxLevel,
-                item.mhp, item.dmg, item.acc, item.sell);
-        else
-            return new Item(this, item.name, item.desc, item.rarity, item.imgIndex, item.minLevel, item.maxLevel, item.eChance, item.sell);
+    /**
+     * Reads the stats that apply to an item's type
+     *
+     * @param i
+     * @param type
+     * @param rarity
+     * @param minLevel
+     * @param maxLevel
+     * @param price 0 for items that aren't sold in the shop
+     * @param shop whether the item is from the shop catalog
+     * @return
+     */
+    private ItemDefinition loadItemDefinition(JsonValue i, int type, int rarity, int minLevel, int maxLevel, int price,
+                                              boolean shop) {
+        boolean potion = type == 0;
+        boolean equip = type >= 2 && type <= 9;
+        int imgIndex = i.getInt("imgIndex");
+        return new ItemDefinition(i.getString("name"), i.getString("desc"), type, rarity, imgIndex,
+            minLevel, maxLevel,
+            potion ? i.getInt("hp") : 0,
+            equip ? i.getInt("mhp") : 0,
+            equip ? i.getInt("dmg") : 0,
+            equip ? i.getInt("acc") : 0,
+            i.getInt("sell"),
+            potion ? i.getInt("exp") : 0,
+            type == 10 ? i.getInt("eChance") : 0,
+            price, shop, getItemSprite(shop, type, imgIndex));
     }
 
     /**
-     * Returns a copy of a random item with weighted rarity from the pool
+     * Returns the icon of an item, shop items have their own spritesheet
+     *
+     * @param shop
+     * @param type
+     * @param imgIndex
+     * @return
+     */
+    public TextureRegion getItemSprite(boolean shop, int type, int imgIndex) {
+        if (!shop) return items20x20[type][imgIndex];
+        // shop rows skip misc items
+        if (type == 0) return shopitems[0][imgIndex];
+        return shopitems[type - 1][imgIndex];
+    }
+
+    /**
+     * Finds the catalog definition of an item by name and type
+     *
+     * @param name
+     * @param type
+     * @param shop whether to search the shop catalog
+     * @return null if no item matches
+     */
+    public ItemDefinition findItemDefinition(String name, int type, boolean shop) {
+        Array<Array<ItemDefinition>> pool = shop ? shopItems : items;
+        for (Array<ItemDefinition> rare : pool) {
+            for (ItemDefinition definition : rare) {
+                if (definition.type == type && definition.name.equals(name)) return definition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a new instance of a random item with weighted rarity from the pool
      * Will only return items that have ranges that contain a given level
      * Used for monster drops based on enemy level
      * Returns null if no item that fits the level
@@ -527,39 +840,33 @@ public class ResourceManager implements Disposable {
      */
     public Item getItem(int rarity, int level) {
         // items sorted by level range and rarity
-        Array<Item> levelItems = new Array<Item>();
-        for (Item item : items.get(rarity)) {
-            if (level >= item.minLevel && level <= item.maxLevel) {
-                levelItems.add(item);
-            }
-        }
-        if (levelItems.size == 0) return null;
-        Item selected = levelItems.get(MathUtils.random(levelItems.size - 1));
-        return getItemCopy(selected);
+        int[] start = levelStart[rarity];
+        if (level < 0 || level >= start.length - 1) return null;
+        int from = start[level];
+        int count = start[level + 1] - from;
+        if (count == 0) return null;
+        return items.get(rarity).get(levelItems[rarity][from + MathUtils.random(count - 1)]).create();
     }
 
     /**
-     * Returns a copy of a random item from the item pool given rarity
-     * This was made so that duplicate Item actors could be created
+     * Returns a new instance of a random item from the item pool given rarity
      *
      * @param rarity
      * @return
      */
     public Item getItem(int rarity) {
-        Item item = items.get(rarity).get(MathUtils.random(items.get(rarity).size - 1));
-        return getItemCopy(item);
+        return items.get(rarity).get(MathUtils.random(items.get(rarity).size - 1)).create();
     }
 
     /**
-     * Returns a copy of an indexed Item from the item pool
+     * Returns a new instance of an indexed Item from the item pool
      *
      * @param rarity
      * @param index
      * @return
      */
     public Item getItemFromKey(int rarity, int index) {
-        Item item = items.get(rarity).get(index);
-        return getItemCopy(item);
+        return items.get(rarity).get(index).create();
     }
 
     /**
@@ -609,24 +916,125 @@ public class ResourceManager implements Disposable {
         return getItem(MathUtils.random(3));
     }
 
+    /**
+     * Returns the AMBIENCE bits a weather plays
+     *
+     * @param weather
+     * @return
+     */
+    private static int getAmbience(int weather) {
+        if (weather == WeatherType.RAIN.ordinal()) return LIGHT_RAIN;
+        if (weather == WeatherType.HEAVY_RAIN.ordinal()) return HEAVY_RAIN;
+        if (weather == WeatherType.THUNDERSTORM.ordinal()) return HEAVY_RAIN | THUNDER;
+        return 0;
+    }
+
+    /**
+     * Returns the AMBIENCE bits used by any map of a world
+     *
+     * @param worldIndex
+     * @return
+     */
+    private int getWorldAmbience(int worldIndex) {
+        int ambience = worldAmbience.get(worldIndex, -1);
+        if (ambience != -1) return ambience;
+        ambience = 0;
+        Level[] levels = worlds.get(worldIndex).levels;
+        for (int i = 0; i < levels.length; i++) {
+            ambience |= getAmbience(MapData.readWeather(MapData.getMapFile(worldIndex, i)));
+        }
+        worldAmbience.put(worldIndex, ambience);
+        return ambience;
+    }
+
+    /**
+     * Acquires the theme and the weather ambience used by the maps of a world
+     * and releases the previous world's
+     * Called ahead of time from the level select so the audio loads before a level starts
+     *
+     * @param worldIndex
+     */
+    public void enterWorld(int worldIndex) {
+        if (worldIndex == residentWorld) return;
+        int ambience = getWorldAmbience(worldIndex);
+        // acquire before releasing so ambience shared by both worlds stays loaded
+        if (worldIndex < WORLD_THEMES.length) audio.acquire(WORLD_THEMES[worldIndex], Music.class);
+        for (int i = 0; i < AMBIENCE.length; i++) {
+            if ((ambience & (1 << i)) != 0) audio.acquire(AMBIENCE[i], Sound.class);
+        }
+        leaveWorld();
+        residentWorld = worldIndex;
+        residentAmbience = ambience;
+    }
+
+    /**
+     * Releases the audio of the current world, its theme must not be playing
+     */
+    public void leaveWorld() {
+        if (residentWorld == -1) return;
+        if (residentWorld < WORLD_THEMES.length) audio.release(WORLD_THEMES[residentWorld]);
+        for (int i = 0; i < AMBIENCE.length; i++) {
+            if ((residentAmbience & (1 << i)) != 0) audio.release(AMBIENCE[i]);
+        }
+        residentWorld = -1;
+        residentAmbience = 0;
+        worldTheme = null;
+        lightrain = heavyrain = thunder = null;
+    }
+
+    /**
+     * Stops a looping rain sound of the current world, the ambience of worlds
+     * without that weather is not loaded
+     *
+     * @param soundId
+     */
+    public void stopRain(long soundId) {
+        if (lightrain != null) lightrain.stop(soundId);
+        if (heavyrain != null) heavyrain.stop(soundId);
+    }
+
+    /**
+     * Stops every instance of the rain sounds of the current world
+     */
+    public void stopRain() {
+        if (lightrain != null) lightrain.stop();
+        if (heavyrain != null) heavyrain.stop();
+    }
+
+    /**
+     * Returns the theme of a world, waiting for its audio to finish loading if needed
+     *
+     * @param worldIndex
+     * @return null if the world has no theme
+     */
+    public Music getWorldTheme(int worldIndex) {
+        enterWorld(worldIndex);
+        lightrain = (residentAmbience & LIGHT_RAIN) != 0 ? audio.get(AMBIENCE[0], Sound.class) : null;
+        heavyrain = (residentAmbience & HEAVY_RAIN) != 0 ? audio.get(AMBIENCE[1], Sound.class) : null;
+        thunder = (residentAmbience & THUNDER) != 0 ? audio.get(AMBIENCE[2], Sound.class) : null;
+        if (worldIndex >= WORLD_THEMES.length) return worldTheme = null;
+        worldTheme = audio.get(WORLD_THEMES[worldIndex], Music.class);
+        worldTheme.setVolume(musicVolume);
+        return worldTheme;
+    }
+
     /**
      * Sets the volume of all music in the game
      * @param volume
      */
     public void setMusicVolume(float volume) {
-        menuTheme.setVolume(volume);
-        slimeForestTheme.setVolume(volume);
-        spookyGraveyardTheme.setVolume(volume);
+        musicVolume = volume;
+        if (menuTheme != null) menuTheme.setVolume(volume);
+        if (worldTheme != null) worldTheme.setVolume(volume);
     }
 
     @Override
     public void dispose() {
-        Disposer.dispose(assetManager, pixel10, atlas, skin, dialogSkin,
-                menuTheme, slimeForestTheme, spookyGraveyardTheme, frostyCaveTheme,
-                battleTheme, buttonclick0, buttonclick1, buttonclick2,
+        Disposer.dispose(executor, assetManager, pixel10, atlas, skin, dialogSkin,
+                menuTheme, battleTheme, buttonclick0, buttonclick1, buttonclick2,
                 invselectclick, moveselectclick, textprogression, hit,
-                blueattack, redattack, yellowattack, heal, death, thunder,
-                lightrain, heavyrain, teleport, movement, finish, battlestart);
+                blueattack, redattack, yellowattack, heal, death,
+                teleport, movement, finish, battlestart);
     }
 
 }
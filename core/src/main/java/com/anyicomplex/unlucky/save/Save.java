@@ -47,6 +47,7 @@ import com.anyicomplex.unlucky.entity.Player;
 import com.anyicomplex.unlucky.inventory.Equipment;
 import com.anyicomplex.unlucky.inventory.Inventory;
 import com.anyicomplex.unlucky.inventory.Item;
+import com.anyicomplex.unlucky.inventory.ItemDefinition;
 import com.anyicomplex.unlucky.inventory.ShopItem;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.badlogic.gdx.Application;
@@ -166,41 +167,7 @@ public class Save {
     private void loadInventory(ResourceManager rm) {
         for (int i = 0; i < Inventory.NUM_SLOTS; i++) {
             ItemAccessor ia = psave.inventory[i];
-            if (ia != null) {
-                // shop items
-                if (ia instanceof ShopItemAccessor) {
-                    ShopItem sitem = null;
-                    if (ia.type == 0)
-                        sitem = new ShopItem(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0,
-                            ia.hp, ia.exp, ia.sell, ((ShopItemAccessor) ia).price);
-                    else if (ia.type >= 2 && ia.type <= 9) {
-                        sitem = new ShopItem(rm, ia.name, ia.desc, ia.type, ia.rarity, ia.imgIndex, 0,
-                            ia.mhp, ia.dmg, ia.acc, ia.sell, ((ShopItemAccessor) ia).price);
-                        sitem.enchantCost = ia.enchantCost;
-                    }
-                    else if (ia.type == 10)
-                        sitem = new ShopItem(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0,
-                            ia.eChance, ia.sell, ((ShopItemAccessor) ia).price);
-                    player.inventory.addItemAtIndex(sitem, ia.index);
-                }
-                else {
-                    Item item = null;
-                    if (ia.type == 0)
-                        item = new Item(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0, 0,
-                            ia.hp, ia.exp, ia.sell);
-                    else if (ia.type == 1)
-                        item = new Item(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0, 0, ia.sell);
-                    else if (ia.type >= 2 && ia.type <= 9) {
-                        item = new Item(rm, ia.name, ia.desc, ia.type, ia.rarity, ia.imgIndex, 0, 0,
-                            ia.mhp, ia.dmg, ia.acc, ia.sell);
-                        item.enchantCost = ia.enchantCost;
-                    }
-                    else if (ia.type == 10)
-                        item = new Item(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0, 0,
-                            ia.eChance, ia.sell);
-                    player.inventory.addItemAtIndex(item, ia.index);
-                }
-            }
+            if (ia != null) player.inventory.addItemAtIndex(loadItem(rm, ia), ia.index);
         }
     }
 
@@ -210,38 +177,38 @@ public class Save {
     private void loadEquips(ResourceManager rm) {
         for (int i = 0; i < Equipment.NUM_SLOTS; i++) {
             ItemAccessor ia = psave.equips[i];
-            if (ia != null) {
-                // shop items
-                if (ia instanceof ShopItemAccessor) {
-                    ShopItem sitem = null;
-                    if (ia.type == 0)
-                        sitem = new ShopItem(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0,
-                            ia.hp, ia.exp, ia.sell, ((ShopItemAccessor) ia).price);
-                    else if (ia.type >= 2 && ia.type <= 9)
-                        sitem = new ShopItem(rm, ia.name, ia.desc, ia.type, ia.rarity, ia.imgIndex, 0,
-                            ia.mhp, ia.dmg, ia.acc, ia.sell, ((ShopItemAccessor) ia).price);
-                    else if (ia.type == 10)
-                        sitem = new ShopItem(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0,
-                            ia.eChance, ia.sell, ((ShopItemAccessor) ia).price);
-                    player.equips.addEquip(sitem);
-                }
-                else {
-                    Item item = null;
-                    if (ia.type == 0)
-                        item = new Item(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0, 0,
-                            ia.hp, ia.exp, ia.sell);
-                    else if (ia.type == 1)
-                        item = new Item(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0, 0, ia.sell);
-                    else if (ia.type >= 2 && ia.type <= 9)
-                        item = new Item(rm, ia.name, ia.desc, ia.type, ia.rarity, ia.imgIndex, 0, 0,
-                            ia.mhp, ia.dmg, ia.acc, ia.sell);
-                    else if (ia.type == 10)
-                        item = new Item(rm, ia.name, ia.desc, ia.rarity, ia.imgIndex, 0, 0,
-                            ia.eChance, ia.sell);
-                    player.equips.addEquip(item);
-                }
-            }
+            if (ia != null) player.equips.addEquip(loadItem(rm, ia));
         }
     }
 
+    /**
+     * Converts an ItemAccessor to an Item sharing the catalog definition of the item
+     * The saved data is used instead if the item's catalog entry has changed since saving
+     *
+     * @param rm
+     * @param ia
+     * @return
+     */
+    private Item loadItem(ResourceManager rm, ItemAccessor ia) {
+        boolean shop = ia instanceof ShopItemAccessor;
+        int price = shop ? ((ShopItemAccessor) ia).price : 0;
+
+        ItemDefinition definition = rm.findItemDefinition(ia.name, ia.type, shop);
+        if (definition == null || definition.imgIndex != ia.imgIndex || definition.price != price
+            || definition.hp != ia.hp || definition.exp != ia.exp || definition.acc != ia.acc
+            || definition.eChance != ia.eChance || !definition.desc.equals(ia.desc)) {
+            definition = new ItemDefinition(ia.name, ia.desc, ia.type, ia.rarity, ia.imgIndex, 0, 0,
+                ia.hp, ia.mhp, ia.dmg, ia.acc, ia.sell, ia.exp, ia.eChance, price, shop,
+                rm.getItemSprite(shop, ia.type, ia.imgIndex));
+        }
+
+        Item item = shop ? new ShopItem(definition) : new Item(definition);
+        item.rarity = ia.rarity;
+        item.mhp = ia.mhp;
+        item.dmg = ia.dmg;
+        item.sell = ia.sell;
+        item.enchantCost = ia.enchantCost;
+        return item;
+    }
+
 }
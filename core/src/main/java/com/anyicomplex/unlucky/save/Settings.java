@@ -62,6 +62,16 @@ public class Settings {
     public volatile boolean showEnemyLevels = false;
     public volatile boolean showWeatherAnimations = true;
     public volatile boolean showFps = false;
+    public volatile boolean showProfiler = false;
+    public volatile boolean tapToMove = true;
+    public volatile boolean fogOfWar = false;
+    public volatile boolean renderOnDemand = true;
+    public volatile boolean nativeResolution = false;
+    public volatile boolean integerScaling = false;
+
+    // developer only, not shown in the settings screen
+    // draws the same tiles either way, off to compare against the uncached path
+    public volatile boolean cacheStaticTiles = true;
 
     // desktop
     public volatile boolean fullscreen = false;
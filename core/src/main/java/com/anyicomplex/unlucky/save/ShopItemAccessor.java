@@ -54,27 +54,27 @@ public class ShopItemAccessor extends ItemAccessor {
     public int price;
 
     public void load(ShopItem item) {
-        this.name = item.name;
-        this.desc = item.desc;
+        this.name = item.definition.name;
+        this.desc = item.definition.desc;
         this.labelName = item.labelName;
 
         this.index = item.index;
 
-        this.type = item.type;
-        this.imgIndex = item.imgIndex;
+        this.type = item.definition.type;
+        this.imgIndex = item.definition.imgIndex;
 
         this.rarity = item.rarity;
-        this.hp = item.hp;
+        this.hp = item.definition.hp;
         this.mhp = item.mhp;
         this.dmg = item.dmg;
-        this.acc = item.acc;
+        this.acc = item.definition.acc;
         this.sell = item.sell;
-        this.exp = item.exp;
+        this.exp = item.definition.exp;
         this.enchants = item.enchants;
         this.enchantCost = item.enchantCost;
         this.bonusEnchantChance = item.bonusEnchantChance;
-        this.eChance = item.eChance;
-        this.price = item.price;
+        this.eChance = item.definition.eChance;
+        this.price = item.definition.price;
     }
 
 }
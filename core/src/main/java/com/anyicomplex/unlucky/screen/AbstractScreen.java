@@ -44,13 +44,14 @@ package com.anyicomplex.unlucky.screen;
 import com.anyicomplex.unlucky.Unlucky;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.util.Disposer;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.utils.Disposable;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 /**
@@ -77,6 +78,13 @@ public abstract class AbstractScreen implements Screen, Disposable {
     // to remove previous clicks buffered before switching the screen
     protected volatile boolean clickable = true;
 
+    // render on demand
+    // screens that only change on input or actions stop rendering continuously when idle
+    protected boolean renderOnDemand = false;
+    // seconds without input before decorative animations stop
+    protected static final float IDLE_DELAY = 10;
+    private float inputIdleTime = 0;
+
     public AbstractScreen(final Unlucky game, final ResourceManager rm) {
         this.game = game;
         this.rm = rm;
@@ -84,7 +92,7 @@ public abstract class AbstractScreen implements Screen, Disposable {
         cam = new OrthographicCamera(Unlucky.V_WIDTH, Unlucky.V_HEIGHT);
         cam.setToOrtho(false);
         // the game will retain it's scaled dimensions regardless of resizing
-        viewport = new FitViewport(Unlucky.V_WIDTH, Unlucky.V_HEIGHT, cam);
+        viewport = new NativeViewport(cam);
 
         stage = new Stage(viewport, game.batch);
     }
@@ -117,6 +125,41 @@ public abstract class AbstractScreen implements Screen, Disposable {
         Disposer.dispose(stage);
     }
 
+    /**
+     * Whether something on the screen moves on its own and needs continuous rendering
+     * Scene2d actions request their own frames so they don't count
+     *
+     * @return
+     */
+    protected boolean isAnimating() {
+        return false;
+    }
+
+    /**
+     * Seconds since the last touch or key press on this screen
+     *
+     * @return
+     */
+    protected float getInputIdleTime() {
+        return inputIdleTime;
+    }
+
+    /**
+     * Called after every rendered frame to decide whether continuous rendering can stop
+     * Input always triggers a new frame, which restarts continuous rendering
+     *
+     * @param dt
+     * @return
+     */
+    public boolean isIdle(float dt) {
+        if (!renderOnDemand || !game.player.settings.renderOnDemand) return false;
+        if (Gdx.input.isTouched() || Gdx.input.isKeyPressed(Input.Keys.ANY_KEY)) inputIdleTime = 0;
+        else inputIdleTime += dt;
+        // background loading only advances on rendered frames
+        if (rm.isLoading()) return false;
+        return !isAnimating();
+    }
+
     public Stage getStage() {
         return stage;
     }
@@ -54,6 +54,7 @@ import com.anyicomplex.unlucky.screen.game.TransitionScreen;
 import com.anyicomplex.unlucky.ui.Hud;
 import com.anyicomplex.unlucky.ui.battleui.BattleUIHandler;
 import com.anyicomplex.unlucky.util.Disposer;
+import com.anyicomplex.unlucky.util.FrameProfiler;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
@@ -62,6 +63,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 
@@ -84,10 +86,26 @@ public class GameScreen extends AbstractScreen {
 
     // input
     public InputMultiplexer multiplexer;
+    // tapped point in map coordinates
+    private final Vector2 touch = new Vector2();
 
     // battle background
     private Background[] bg;
 
+    // fixed timestep simulation
+    public static final float STEP = 1 / 60f;
+    // longest frame simulated, so a long hitch can't make the simulation spiral
+    private static final float MAX_FRAME_TIME = 0.25f;
+    // simulated seconds per real second, above 1 runs several steps per rendered frame
+    public float timeScale = 1;
+    private float accumulator = 0;
+    // state before the last step, rendered positions are blended towards the current state
+    private final Vector2 prevPlayerPosition = new Vector2();
+    private final Vector2 prevCamPosition = new Vector2();
+    // where the player and map are drawn, the simulation's own position and camera are never touched
+    private final Vector2 renderPlayerPosition = new Vector2();
+    private final OrthographicCamera renderCam = new OrthographicCamera(Unlucky.V_WIDTH, Unlucky.V_HEIGHT);
+
     // key
     private int worldIndex;
     private int levelIndex;
@@ -180,8 +198,7 @@ public class GameScreen extends AbstractScreen {
                                 // pause music and sfx
                                 gameMap.mapTheme.pause();
                                 if (gameMap.weather != WeatherType.NORMAL) {
-                                    rm.lightrain.stop(gameMap.soundId);
-                                    rm.heavyrain.stop(gameMap.soundId);
+                                    rm.stopRain(gameMap.soundId);
                                 }
 
                                 setCurrentEvent(EventState.PAUSE);
@@ -248,6 +265,18 @@ public class GameScreen extends AbstractScreen {
                 }
                 return false;
             }
+
+            @Override
+            public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+                // taps that miss the hud walk the player to the tapped tile
+                if (currentEvent != EventState.MOVING || !game.player.settings.tapToMove) return false;
+                viewport.unproject(touch.set(screenX, screenY));
+                if (touch.x < 0 || touch.y < 0) return false;
+                int tileX = (int) (touch.x / gameMap.tileMap.tileSize);
+                int tileY = (int) (touch.y / gameMap.tileMap.tileSize);
+                if (tileX >= gameMap.tileMap.mapWidth || tileY >= gameMap.tileMap.mapHeight) return false;
+                return gameMap.player.moveTo(gameMap.tileMap.getCell(tileX, tileY));
+            }
         });
         multiplexer.addProcessor(battleUIHandler.getStage());
         multiplexer.addProcessor(levelUp.getStage());
@@ -267,6 +296,8 @@ public class GameScreen extends AbstractScreen {
     public void init(int worldIndex, int levelIndex) {
         this.worldIndex = worldIndex;
         this.levelIndex = levelIndex;
+        // the level select only enters once the resource manager is done loading
+        gameMap.preload(worldIndex, levelIndex);
     }
 
     @Override
@@ -296,7 +327,19 @@ public class GameScreen extends AbstractScreen {
             hud.touchDown = false;
             hud.shade.setVisible(false);
             hud.startLevelDescriptor();
+
+            updateCamera();
         }
+        resetInterpolation();
+    }
+
+    /**
+     * Starts rendering from the current state instead of sliding from the previous one,
+     * for when the player enters a map or jumps within it
+     */
+    public void resetInterpolation() {
+        prevPlayerPosition.set(gameMap.player.getPosition());
+        prevCamPosition.set(cam.position.x, cam.position.y);
     }
 
     /**
@@ -355,8 +398,12 @@ public class GameScreen extends AbstractScreen {
         if (currentEvent == EventState.MOVING) {
             updateCamera();
 
+            game.profiler.begin(FrameProfiler.MAP_UPDATE);
             gameMap.update(dt);
+            game.profiler.end(FrameProfiler.MAP_UPDATE);
+            game.profiler.begin(FrameProfiler.HUD);
             hud.update(dt);
+            game.profiler.end(FrameProfiler.HUD);
         }
 
         if (currentEvent == EventState.BATTLING) {
@@ -364,17 +411,57 @@ public class GameScreen extends AbstractScreen {
             for (Background background : bg) {
                 background.update(dt);
             }
+            game.profiler.begin(FrameProfiler.BATTLE_UI);
             battleUIHandler.update(dt);
+            game.profiler.end(FrameProfiler.BATTLE_UI);
         }
 
-        if (currentEvent == EventState.TRANSITION) transition.update(dt);
+        if (currentEvent == EventState.TRANSITION) {
+            game.profiler.begin(FrameProfiler.TRANSITION);
+            transition.update(dt);
+            game.profiler.end(FrameProfiler.TRANSITION);
+        }
         if (currentEvent == EventState.LEVEL_UP) levelUp.update(dt);
         if (currentEvent == EventState.TILE_EVENT) dialog.update(dt);
         if (currentEvent == EventState.INVENTORY) game.inventoryUI.update(dt);
     }
 
+    /**
+     * Advances the simulation by one fixed step
+     */
+    private void step() {
+        prevPlayerPosition.set(gameMap.player.getPosition());
+        prevCamPosition.set(cam.position.x, cam.position.y);
+        game.profiler.beginStep();
+        update(STEP);
+        game.profiler.endStep();
+    }
+
+    /**
+     * Fast forwards the simulation without rendering
+     *
+     * @param seconds
+     */
+    public void simulate(float seconds) {
+        for (int i = (int) (seconds / STEP); i > 0; i--) step();
+    }
+
     public void render(float dt) {
-        update(dt);
+        accumulator += Math.min(dt, MAX_FRAME_TIME) * timeScale;
+        while (accumulator >= STEP) {
+            step();
+            accumulator -= STEP;
+        }
+
+        // draw the player and camera between the last two steps
+        float alpha = accumulator / STEP;
+        renderPlayerPosition.set(prevPlayerPosition).lerp(gameMap.player.getPosition(), alpha);
+        renderCam.viewportWidth = cam.viewportWidth;
+        renderCam.viewportHeight = cam.viewportHeight;
+        renderCam.zoom = cam.zoom;
+        renderCam.position.set(MathUtils.lerp(prevCamPosition.x, cam.position.x, alpha),
+            MathUtils.lerp(prevCamPosition.y, cam.position.y, alpha), cam.position.z);
+        renderCam.update();
 
         // clear screen
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -397,30 +484,40 @@ public class GameScreen extends AbstractScreen {
                 transition.renderMap || currentEvent == EventState.TILE_EVENT ||
                 currentEvent == EventState.DEATH || currentEvent == EventState.PAUSE) {
                 // map camera
-                game.batch.setProjectionMatrix(cam.combined);
+                game.batch.setProjectionMatrix(renderCam.combined);
                 // render map and player
-                gameMap.render(dt, game.batch, cam);
+                gameMap.render(dt, game.batch, renderCam, renderPlayerPosition);
             }
 
             game.batch.end();
         }
 
-        if (currentEvent == EventState.MOVING || currentEvent == EventState.DEATH || currentEvent == EventState.PAUSE)
+        if (currentEvent == EventState.MOVING || currentEvent == EventState.DEATH || currentEvent == EventState.PAUSE) {
+            game.profiler.begin(FrameProfiler.HUD);
             hud.render(dt);
-        if (currentEvent == EventState.BATTLING || transition.renderBattle)
+            game.profiler.end(FrameProfiler.HUD);
+        }
+        if (currentEvent == EventState.BATTLING || transition.renderBattle) {
+            game.profiler.begin(FrameProfiler.BATTLE_UI);
             battleUIHandler.render(dt);
+            game.profiler.end(FrameProfiler.BATTLE_UI);
+        }
         if (currentEvent == EventState.LEVEL_UP || transition.renderLevelUp)
             levelUp.render(dt);
         if (currentEvent == EventState.TILE_EVENT) dialog.render(dt);
         if (currentEvent == EventState.INVENTORY) game.inventoryUI.render(dt);
-        if (currentEvent == EventState.TRANSITION) transition.render(dt);
+        if (currentEvent == EventState.TRANSITION) {
+            game.profiler.begin(FrameProfiler.TRANSITION);
+            transition.render(dt);
+            game.profiler.end(FrameProfiler.TRANSITION);
+        }
 
         //game.profile("GameScreen");
     }
 
     public void dispose() {
         super.dispose();
-        Disposer.dispose(hud, battleUIHandler, dialog, levelUp);
+        Disposer.dispose(hud, battleUIHandler, dialog, levelUp, gameMap);
     }
 
     /**
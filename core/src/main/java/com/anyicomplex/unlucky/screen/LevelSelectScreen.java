@@ -90,6 +90,8 @@ public class LevelSelectScreen extends SelectScreen {
     public void show() {
         super.show();
         game.player.inMap = false;
+        // start loading the world's music and ambience before a level is picked
+        rm.enterWorld(worldIndex);
 
         bannerLabel.setText(rm.worlds.get(worldIndex).name);
         bannerLabel.setStyle(nameStyles[worldIndex]);
@@ -155,6 +157,8 @@ public class LevelSelectScreen extends SelectScreen {
     }
 
     private void performEnter() {
+        // entering waits for the background loading instead of blocking the first frame of the level
+        if (rm.isLoading()) return;
         if (!game.player.settings.muteSfx) rm.buttonclick0.play(game.player.settings.sfxVolume);
         if (worldIndex <= game.player.maxWorld) {
             // if the player's inventory is full give a warning
@@ -308,6 +312,20 @@ public class LevelSelectScreen extends SelectScreen {
         scrollTable.setPosition(-38, -10);
     }
 
+    /**
+     * Greys out the enter button while battle and world assets are still loading
+     *
+     * @param dt
+     */
+    @Override
+    public void update(float dt) {
+        boolean loading = rm.isLoading();
+        if (enterButton.isDisabled() == loading) return;
+        enterButton.setDisabled(loading);
+        enterButton.setTouchable(loading ? Touchable.disabled : Touchable.enabled);
+        enterLabel.getColor().a = loading ? 0.5f : 1;
+    }
+
     public void render(float dt) {
         super.render(dt, worldIndex);
     }
@@ -0,0 +1,100 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.screen;
+
+import com.anyicomplex.unlucky.Unlucky;
+import com.anyicomplex.unlucky.resource.ResourceManager;
+import com.anyicomplex.unlucky.util.Disposer;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Boot screen shown while the menu assets load
+ * Draws a progress bar with shapes since no textures are available yet
+ */
+public class LoadingScreen extends AbstractScreen {
+
+    private static final int BAR_WIDTH = 100;
+    private static final int BAR_HEIGHT = 4;
+
+    private ShapeRenderer shapeRenderer = new ShapeRenderer();
+    private Color background = new Color(0x222222FF);
+
+    // eased progress so the bar doesn't jump between assets
+    private float shown = 0;
+
+    public LoadingScreen(Unlucky game, ResourceManager rm) {
+        super(game, rm);
+    }
+
+    @Override
+    public void render(float dt) {
+        boolean ready = rm.update();
+        shown = Math.min(rm.getProgress(), shown + dt * 2);
+
+        ScreenUtils.clear(background);
+        viewport.apply();
+        shapeRenderer.setProjectionMatrix(cam.combined);
+
+        float x = (Unlucky.V_WIDTH - BAR_WIDTH) / 2f;
+        float y = (Unlucky.V_HEIGHT - BAR_HEIGHT) / 2f;
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(Color.DARK_GRAY);
+        shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.setColor(Color.WHITE);
+        shapeRenderer.rect(x, y, BAR_WIDTH * shown, BAR_HEIGHT);
+        shapeRenderer.end();
+
+        if (ready) {
+            game.finishCreate();
+            dispose();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        Disposer.dispose(shapeRenderer);
+    }
+
+}
@@ -63,6 +63,7 @@ public abstract class MenuExtensionScreen extends AbstractScreen {
 
     public MenuExtensionScreen(final Unlucky game, final ResourceManager rm) {
         super(game, rm);
+        renderOnDemand = true;
 
         // init exit button
         ImageButton.ImageButtonStyle style = new ImageButton.ImageButtonStyle();
@@ -92,6 +93,16 @@ public abstract class MenuExtensionScreen extends AbstractScreen {
         })));
     }
 
+    /**
+     * The clouds keep moving until the screen has had no input for a while
+     *
+     * @return
+     */
+    @Override
+    protected boolean isAnimating() {
+        return getInputIdleTime() < IDLE_DELAY;
+    }
+
     public void update(float dt) {}
 
     public void render(float dt) {
@@ -142,6 +142,8 @@ public class MenuScreen extends MenuExtensionScreen {
         stage.addActor(game.fps);
 
         if (!rm.menuTheme.isPlaying()) rm.menuTheme.play();
+        rm.leaveWorld();
+        game.gameScreen.gameMap.mapTheme = null;
 
         InputMultiplexer multiplexer = new InputMultiplexer();
         multiplexer.addProcessor(stage);
@@ -0,0 +1,135 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.screen;
+
+import com.anyicomplex.unlucky.Unlucky;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Draws a whole frame into a V_WIDTH x V_HEIGHT framebuffer and then
+ * upscales it to the window with a single nearest neighbor quad, so the
+ * fill cost of a frame doesn't grow with the size of the window.
+ */
+public class NativeRenderer implements Disposable {
+
+    // only scale by whole numbers, letterboxing the rest of the window
+    public volatile static boolean integerScaling = false;
+    // set while a frame is being drawn into the framebuffer
+    private static boolean drawing = false;
+
+    private final SpriteBatch batch;
+    private FrameBuffer frameBuffer;
+    private final Matrix4 blitProjection = new Matrix4();
+
+    public NativeRenderer(SpriteBatch batch) {
+        this.batch = batch;
+    }
+
+    public static boolean isDrawing() {
+        return drawing;
+    }
+
+    /**
+     * The largest whole scale of the game that fits in a window
+     *
+     * @param screenWidth
+     * @param screenHeight
+     * @return
+     */
+    public static int getIntegerScale(int screenWidth, int screenHeight) {
+        return Math.max(1, Math.min(screenWidth / Unlucky.V_WIDTH, screenHeight / Unlucky.V_HEIGHT));
+    }
+
+    /**
+     * Redirects drawing into the framebuffer until end is called
+     */
+    public void begin() {
+        if (frameBuffer == null) {
+            frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, Unlucky.V_WIDTH, Unlucky.V_HEIGHT, false);
+            frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        }
+        frameBuffer.begin();
+        drawing = true;
+    }
+
+    /**
+     * Draws the framebuffer into the game's area of the window
+     *
+     * @param viewport any of the game's viewports, their screen bounds are all the same
+     */
+    public void end(NativeViewport viewport) {
+        frameBuffer.end();
+        drawing = false;
+
+        HdpiUtils.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        blitProjection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        float color = batch.getPackedColor();
+        batch.setProjectionMatrix(blitProjection);
+        batch.setColor(1, 1, 1, 1);
+        batch.disableBlending();
+        batch.begin();
+        // framebuffer textures are upside down
+        batch.draw(frameBuffer.getColorBufferTexture(),
+            viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight(),
+            0, 0, Unlucky.V_WIDTH, Unlucky.V_HEIGHT, false, true);
+        batch.end();
+        batch.enableBlending();
+        batch.setPackedColor(color);
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) frameBuffer.dispose();
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.screen;
+
+import com.anyicomplex.unlucky.Unlucky;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
+import com.badlogic.gdx.utils.Scaling;
+import com.badlogic.gdx.utils.viewport.ScalingViewport;
+
+/**
+ * Viewport of every screen and UI with a world of V_WIDTH x V_HEIGHT.
+ *
+ * Its screen bounds always describe where the game appears in the window
+ * so input is unprojected correctly. While the NativeRenderer is drawing
+ * into its framebuffer it applies the framebuffer's size instead.
+ */
+public class NativeViewport extends ScalingViewport {
+
+    public NativeViewport(Camera camera) {
+        super(Scaling.fit, Unlucky.V_WIDTH, Unlucky.V_HEIGHT, camera);
+    }
+
+    @Override
+    public void update(int screenWidth, int screenHeight, boolean centerCamera) {
+        if (!NativeRenderer.integerScaling) {
+            super.update(screenWidth, screenHeight, centerCamera);
+            return;
+        }
+        int scale = NativeRenderer.getIntegerScale(screenWidth, screenHeight);
+        int width = Unlucky.V_WIDTH * scale;
+        int height = Unlucky.V_HEIGHT * scale;
+        setScreenBounds((screenWidth - width) / 2, (screenHeight - height) / 2, width, height);
+        apply(centerCamera);
+    }
+
+    @Override
+    public void apply(boolean centerCamera) {
+        if (!NativeRenderer.isDrawing()) {
+            super.apply(centerCamera);
+            return;
+        }
+        Gdx.gl.glViewport(0, 0, Unlucky.V_WIDTH, Unlucky.V_HEIGHT);
+        Camera camera = getCamera();
+        camera.viewportWidth = getWorldWidth();
+        camera.viewportHeight = getWorldHeight();
+        if (centerCamera) camera.position.set(getWorldWidth() / 2, getWorldHeight() / 2, 0);
+        camera.update();
+    }
+
+    @Override
+    public void calculateScissors(Matrix4 batchTransform, Rectangle area, Rectangle scissor) {
+        if (!NativeRenderer.isDrawing()) {
+            super.calculateScissors(batchTransform, area, scissor);
+            return;
+        }
+        // clip rectangles are in framebuffer pixels while drawing into it
+        ScissorStack.calculateScissors(getCamera(), 0, 0, Unlucky.V_WIDTH, Unlucky.V_HEIGHT,
+            batchTransform, area, scissor);
+    }
+
+}
@@ -95,6 +95,7 @@ public abstract class SelectScreen extends AbstractScreen {
 
     public SelectScreen(final Unlucky game, final ResourceManager rm) {
         super(game, rm);
+        renderOnDemand = true;
 
         // init enter button
         enterButtonGroup = new Group();
@@ -86,9 +86,14 @@ public class SettingsScreen extends MenuExtensionScreen {
     private Slider sfxSlider;
     private CheckBox muteMusic;
     private CheckBox muteSfx;
+    private CheckBox fogOfWar;
+    private CheckBox tapToMove;
     private CheckBox showEnemyLevels;
     private CheckBox showWeatherAnims;
     private CheckBox showFps;
+    private CheckBox showProfiler;
+    private CheckBox nativeResolution;
+    private CheckBox integerScaling;
     private CheckBox fullscreen;
 
     private volatile boolean fullscreenClicked = false;
@@ -142,12 +147,13 @@ public class SettingsScreen extends MenuExtensionScreen {
         stage.addActor(description);
 
         // create settings labels
-        settingLabels = new Label[8];
         String[] settingStrs = new String[] {
-            "MUSIC VOLUME", "SFX VOLUME", "MUTE MUSIC:", "MUTE SFX:",
-            "SHOW ENEMY LEVELS:", "WEATHER ANIMATIONS:", "SHOW FPS:", "FULLSCREEN:"
+            "MUSIC VOLUME", "SFX VOLUME", "MUTE MUSIC:", "MUTE SFX:", "FOG OF WAR:", "TAP TO MOVE:",
+            "SHOW ENEMY LEVELS:", "WEATHER ANIMATIONS:", "SHOW FPS:", "SHOW PROFILER:",
+            "NATIVE RESOLUTION:", "INTEGER SCALING:", "FULLSCREEN:"
         };
-        for (int i = 0; i < 8; i ++) {
+        settingLabels = new Label[settingStrs.length];
+        for (int i = 0; i < settingLabels.length; i ++) {
             settingLabels[i] = new Label(settingStrs[i], white);
             settingLabels[i].setTouchable(Touchable.disabled);
             settingLabels[i].setFontScale(0.5f);
@@ -155,12 +161,24 @@ public class SettingsScreen extends MenuExtensionScreen {
         }
         for (int i = 0; i < 2; i ++) settingLabels[i].setPosition(14, 76 - i * 24);
         for (int i = 2; i < 4; i ++) settingLabels[i].setPosition(14, 26 - (i - 2) * 14);
-        for (int i = 4; i < 8; i ++) settingLabels[i].setPosition(111, 72 - (i - 4) * 16);
+        // next to the mute rows as the misc column is full
+        for (int i = 4; i < 6; i ++) settingLabels[i].setPosition(62, 26 - (i - 4) * 14);
+        for (int i = 6; i < settingLabels.length; i ++) settingLabels[i].setPosition(111, getMiscRowY(i - 6));
 
         createSliders();
         createCheckboxes();
     }
 
+    /**
+     * Returns the y position of a label in the misc column, its checkbox goes 1 below
+     *
+     * @param row
+     * @return
+     */
+    private float getMiscRowY(int row) {
+        return 75 - row * 10;
+    }
+
     /**
      * Creates the volume sliders for the music and sound effects
      */
@@ -209,27 +227,49 @@ public class SettingsScreen extends MenuExtensionScreen {
         muteSfx.setPosition(50, 10);
         stage.addActor(muteSfx);
 
+        fogOfWar = new CheckBox("", rm.skin);
+        fogOfWar.setPosition(96, 25);
+        stage.addActor(fogOfWar);
+
+        tapToMove = new CheckBox("", rm.skin);
+        tapToMove.setPosition(96, 10);
+        stage.addActor(tapToMove);
+
         showEnemyLevels = new CheckBox("", rm.skin);
-        showEnemyLevels.setPosition(170, 71);
+        showEnemyLevels.setPosition(170, getMiscRowY(0) - 1);
         stage.addActor(showEnemyLevels);
         showWeatherAnims = new CheckBox("", rm.skin);
-        showWeatherAnims.setPosition(170, 55);
+        showWeatherAnims.setPosition(170, getMiscRowY(1) - 1);
         stage.addActor(showWeatherAnims);
         showFps = new CheckBox("", rm.skin);
-        showFps.setPosition(170, 39);
+        showFps.setPosition(170, getMiscRowY(2) - 1);
         stage.addActor(showFps);
+        showProfiler = new CheckBox("", rm.skin);
+        showProfiler.setPosition(170, getMiscRowY(3) - 1);
+        stage.addActor(showProfiler);
+        nativeResolution = new CheckBox("", rm.skin);
+        nativeResolution.setPosition(170, getMiscRowY(4) - 1);
+        stage.addActor(nativeResolution);
+        integerScaling = new CheckBox("", rm.skin);
+        integerScaling.setPosition(170, getMiscRowY(5) - 1);
+        stage.addActor(integerScaling);
         fullscreen = new CheckBox("", rm.skin);
         fullscreen.setVisible(!Unlucky.DISABLE_FULLSCREEN);
-        settingLabels[7].setVisible(!Unlucky.DISABLE_FULLSCREEN);
+        settingLabels[settingLabels.length - 1].setVisible(!Unlucky.DISABLE_FULLSCREEN);
 
-        fullscreen.setPosition(170, 23);
+        fullscreen.setPosition(170, getMiscRowY(6) - 1);
         stage.addActor(fullscreen);
 
         muteMusic.setChecked(game.player.settings.muteMusic);
         muteSfx.setChecked(game.player.settings.muteSfx);
+        fogOfWar.setChecked(game.player.settings.fogOfWar);
+        tapToMove.setChecked(game.player.settings.tapToMove);
         showEnemyLevels.setChecked(game.player.settings.showEnemyLevels);
         showWeatherAnims.setChecked(game.player.settings.showWeatherAnimations);
         showFps.setChecked(game.player.settings.showFps);
+        showProfiler.setChecked(game.player.settings.showProfiler);
+        nativeResolution.setChecked(game.player.settings.nativeResolution);
+        integerScaling.setChecked(game.player.settings.integerScaling);
         fullscreen.setChecked(PlatformSupport.isFullscreen());
 
         // checkbox events
@@ -251,6 +291,23 @@ public class SettingsScreen extends MenuExtensionScreen {
                 if (!inGame) game.save.save();
             }
         });
+        fogOfWar.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
+                // the fog is laid over the next map that is loaded
+                game.player.settings.fogOfWar = fogOfWar.isChecked();
+                if (!inGame) game.save.save();
+            }
+        });
+        tapToMove.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
+                game.player.settings.tapToMove = tapToMove.isChecked();
+                if (!inGame) game.save.save();
+            }
+        });
         showEnemyLevels.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -280,6 +337,33 @@ public class SettingsScreen extends MenuExtensionScreen {
                 if (!inGame) game.save.save();
             }
         });
+        showProfiler.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
+                game.player.settings.showProfiler = showProfiler.isChecked();
+                if (!inGame) game.save.save();
+            }
+        });
+        nativeResolution.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
+                game.player.settings.nativeResolution = nativeResolution.isChecked();
+                if (!inGame) game.save.save();
+            }
+        });
+        integerScaling.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
+                game.player.settings.integerScaling = integerScaling.isChecked();
+                NativeRenderer.integerScaling = integerScaling.isChecked();
+                // other screens pick up the new bounds when they are resized on being shown
+                resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+                if (!inGame) game.save.save();
+            }
+        });
         fullscreen.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -365,6 +449,16 @@ public class SettingsScreen extends MenuExtensionScreen {
         Gdx.input.setInputProcessor(multiplexer);
     }
 
+    /**
+     * In game the background is a still image
+     *
+     * @return
+     */
+    @Override
+    protected boolean isAnimating() {
+        return !inGame && super.isAnimating();
+    }
+
     @Override
     public void render(float dt) {
         update(dt);
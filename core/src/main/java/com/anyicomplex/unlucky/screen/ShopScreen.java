@@ -328,8 +328,8 @@ public class ShopScreen extends MenuExtensionScreen {
                 itemButtonGroup.add(b);
 
                 final ShopItem item = shop.items.get(i).get(j);
-                item.actor.setPosition(10, 3);
-                item.actor.setTouchable(Touchable.disabled);
+                item.getActor().setPosition(10, 3);
+                item.getActor().setTouchable(Touchable.disabled);
                 Label itemName = new Label(item.labelName, Util.getItemColor(item.rarity, rm));
                 itemName.setFontScale(0.5f);
                 itemName.setTouchable(Touchable.disabled);
@@ -339,7 +339,7 @@ public class ShopScreen extends MenuExtensionScreen {
                 itemDesc.setFontScale(0.5f);
                 itemDesc.setTouchable(Touchable.disabled);
                 itemDesc.setAlignment(Align.left);
-                Label itemPrice = new Label("PRICE: " + item.price, goldStyle);
+                Label itemPrice = new Label("PRICE: " + item.definition.price, goldStyle);
                 itemPrice.setFontScale(0.5f);
                 itemPrice.setTouchable(Touchable.disabled);
                 itemPrice.setAlignment(Align.left);
@@ -349,7 +349,7 @@ public class ShopScreen extends MenuExtensionScreen {
                 itemTable.add(itemPrice).padTop(4).padBottom(-4).padLeft(12).size(68, 8);
 
                 itemGroup.addActor(b);
-                itemGroup.addActor(item.actor);
+                itemGroup.addActor(item.getActor());
                 itemGroup.addActor(itemTable);
 
                 // handle item selection
@@ -362,7 +362,7 @@ public class ShopScreen extends MenuExtensionScreen {
                             // enable buying
                             invButtons[0].setTouchable(Touchable.enabled);
                             invButtons[0].setStyle(enabled);
-                            invButtonLabels[0].setText("BUY FOR\n" + item.price + " g");
+                            invButtonLabels[0].setText("BUY FOR\n" + item.definition.price + " g");
                         }
                         else {
                             currentShopItem = null;
@@ -374,7 +374,7 @@ public class ShopScreen extends MenuExtensionScreen {
                 });
 
                 int height = (int) (itemTable.getPrefHeight() + itemTable.getPrefHeight() / 2);
-                item.actor.setPosition(4, height / 2.0f - 5);
+                item.getActor().setPosition(4, height / 2.0f - 5);
 
                 selectionContainer.add(itemGroup).padLeft(-1).padBottom(2).size(89, height).row();
             }
@@ -406,8 +406,8 @@ public class ShopScreen extends MenuExtensionScreen {
      * @param item
      */
     private void addInventoryEvent(final Item item) {
-        item.actor.clearListeners();
-        item.actor.addListener(new ClickListener() {
+        item.getActor().clearListeners();
+        item.getActor().addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 // select item
@@ -473,7 +473,7 @@ public class ShopScreen extends MenuExtensionScreen {
         }
         if (currentShopItem != null) {
             // item is too expensive to buy
-            if (player.getGold() < currentShopItem.price) {
+            if (player.getGold() < currentShopItem.definition.price) {
                 new Dialog("Warning", rm.dialogSkin) {
                     {
                         Label l = new Label("You do not have enough\ngold to buy " + currentShopItem.labelName + ".", rm.dialogSkin);
@@ -508,20 +508,12 @@ public class ShopScreen extends MenuExtensionScreen {
                 protected void result(Object object) {
                     if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
                     if (object.equals("yes")) {
-                        player.addGold(-currentShopItem.price);
-                        // a copy of the shop item
-                        ShopItem item;
-                        if (currentShopItem.type == 0) {
-                            item = new ShopItem(rm, currentShopItem.name, currentShopItem.desc, currentShopItem.rarity,
-                                currentShopItem.imgIndex, currentShopItem.minLevel, currentShopItem.hp, currentShopItem.exp, currentShopItem.sell, currentShopItem.price);
-                        }
-                        else {
-                            item = new ShopItem(rm, currentShopItem.name, currentShopItem.desc, currentShopItem.type, currentShopItem.rarity,
-                                currentShopItem.imgIndex, currentShopItem.minLevel, currentShopItem.mhp, currentShopItem.dmg, currentShopItem.acc, currentShopItem.sell, currentShopItem.price);
-                        }
+                        player.addGold(-currentShopItem.definition.price);
+                        // a new instance of the shop item
+                        ShopItem item = new ShopItem(currentShopItem.definition);
                         player.inventory.addItem(item);
-                        stage.addActor(item.actor);
-                        item.actor.setZIndex(item.index + 1);
+                        stage.addActor(item.getActor());
+                        item.getActor().setZIndex(item.index + 1);
                         addInventoryEvent(item);
                         gold.setText("GOLD: " + player.getGold());
                         player.stats.numShopItemsBought++;
@@ -566,7 +558,7 @@ public class ShopScreen extends MenuExtensionScreen {
                     if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
                     if (object.equals("yes")) {
                         player.addGold(currentItem.sell);
-                        player.inventory.items[currentItem.index].actor.remove();
+                        player.inventory.items[currentItem.index].getActor().remove();
                         player.inventory.removeItem(currentItem.index);
                         unselectItem();
                         gold.setText("GOLD: " + player.getGold());
@@ -582,7 +574,7 @@ public class ShopScreen extends MenuExtensionScreen {
         for (int i = 0; i < Inventory.NUM_SLOTS; i++) {
             Item item = player.inventory.getItem(i);
             if (item != null) {
-                stage.addActor(item.actor);
+                stage.addActor(item.getActor());
             }
         }
     }
@@ -591,7 +583,7 @@ public class ShopScreen extends MenuExtensionScreen {
         for (int i = 0; i < Inventory.NUM_SLOTS; i++) {
             Item item = player.inventory.getItem(i);
             if (item != null) {
-                item.actor.remove();
+                item.getActor().remove();
             }
         }
     }
@@ -636,7 +628,7 @@ public class ShopScreen extends MenuExtensionScreen {
             int x = i % NUM_COLS;
             int y = i / NUM_COLS;
             if (item != null) {
-                item.actor.setPosition(125 + (x * 16), 92 - (y * 16));
+                item.getActor().setPosition(125 + (x * 16), 92 - (y * 16));
             }
         }
     }
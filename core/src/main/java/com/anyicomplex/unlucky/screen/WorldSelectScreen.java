@@ -81,6 +81,9 @@ public class WorldSelectScreen extends SelectScreen {
     @Override
     public void show() {
         super.show();
+        // no world is picked yet so its audio can be unloaded
+        rm.leaveWorld();
+        game.gameScreen.gameMap.mapTheme = null;
 
         bannerLabel.setText("SELECT A WORLD");
         bannerLabel.getStyle().fontColor = new Color(1, 212 / 255.f, 0, 1);
@@ -166,6 +166,7 @@ public class TransitionScreen {
         else if (prev == EventState.MOVING && next == EventState.MOVING) {
             player.teleport();
             gameScreen.updateCamera();
+            gameScreen.resetInterpolation();
             gameScreen.setCurrentEvent(EventState.MOVING);
             hud.toggle(true);
             player.finishTeleporting();
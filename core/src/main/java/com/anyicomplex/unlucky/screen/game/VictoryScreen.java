@@ -113,7 +113,7 @@ public class VictoryScreen extends AbstractScreen {
 
         exitButton.addListener(new ClickListener() {
             public void clicked(InputEvent event, float x, float y) {
-                for (Item item : gameMap.itemsObtained) item.actor.remove();
+                for (Item item : gameMap.itemsObtained) item.getActor().remove();
                 game.menuScreen.transitionIn = 0;
                 setFadeScreen(game.menuScreen);
             }
@@ -153,7 +153,7 @@ public class VictoryScreen extends AbstractScreen {
             public void clicked(InputEvent event, float x, float y) {
                 if (gameMap.levelIndex != rm.worlds.get(gameMap.worldIndex).numLevels - 1) {
                     // switch back to level select screen
-                    for (Item item : gameMap.itemsObtained) item.actor.remove();
+                    for (Item item : gameMap.itemsObtained) item.getActor().remove();
                     game.levelSelectScreen.setWorld(gameMap.worldIndex);
                     rm.menuTheme.play();
                     setFadeScreen(game.levelSelectScreen);
@@ -201,9 +201,9 @@ public class VictoryScreen extends AbstractScreen {
             int x = i % NUM_COLS;
             int y = i / NUM_COLS;
             Item item = gameMap.itemsObtained.get(i);
-            item.actor.remove();
-            item.actor.setPosition(Unlucky.V_WIDTH / 2.0f - 70 + 8 + (x * 24), 34 - (y * 16));
-            stage.addActor(item.actor);
+            item.getActor().remove();
+            item.getActor().setPosition(Unlucky.V_WIDTH / 2.0f - 70 + 8 + (x * 24), 34 - (y * 16));
+            stage.addActor(item.getActor());
         }
 
         InputMultiplexer multiplexer = new InputMultiplexer();
@@ -217,7 +217,7 @@ public class VictoryScreen extends AbstractScreen {
                     case Input.Keys.NUMPAD_ENTER:
                         if (gameMap.levelIndex != rm.worlds.get(gameMap.worldIndex).numLevels - 1) {
                             // switch back to level select screen
-                            for (Item item : gameMap.itemsObtained) item.actor.remove();
+                            for (Item item : gameMap.itemsObtained) item.getActor().remove();
                             game.levelSelectScreen.setWorld(gameMap.worldIndex);
                             rm.menuTheme.play();
                             Gdx.input.setInputProcessor(stage);
@@ -226,7 +226,7 @@ public class VictoryScreen extends AbstractScreen {
                         return true;
                     case Input.Keys.BACK:
                     case Input.Keys.ESCAPE:
-                        for (Item item : gameMap.itemsObtained) item.actor.remove();
+                        for (Item item : gameMap.itemsObtained) item.getActor().remove();
                         game.menuScreen.transitionIn = 0;
                         Gdx.input.setInputProcessor(stage);
                         setFadeScreen(game.menuScreen);
@@ -47,6 +47,7 @@ import com.anyicomplex.unlucky.entity.Player;
 import com.anyicomplex.unlucky.event.EventState;
 import com.anyicomplex.unlucky.inventory.Inventory;
 import com.anyicomplex.unlucky.inventory.Item;
+import com.anyicomplex.unlucky.map.FogOfWar;
 import com.anyicomplex.unlucky.map.TileMap;
 import com.anyicomplex.unlucky.map.WeatherType;
 import com.anyicomplex.unlucky.resource.ResourceManager;
@@ -54,6 +55,7 @@ import com.anyicomplex.unlucky.resource.Util;
 import com.anyicomplex.unlucky.screen.GameScreen;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -62,6 +64,7 @@ import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 
 /**
@@ -82,6 +85,12 @@ public class Hud extends UI {
     // option buttons: inventoryUI and settings
     private ImageButton[] optionButtons;
 
+    // minimap in the bottom right corner, fit into a square of this size
+    private static final float MINIMAP_SIZE = 40;
+    private Image minimap;
+    // fog of war texture laid over the minimap, hidden when the fog is off
+    private Image minimapFog;
+
     // window that slides on the screen to show the world and level
     private Window levelDescriptor;
     private Label levelDesc;
@@ -104,6 +113,7 @@ public class Hud extends UI {
 
         createDirPad();
         createOptionButtons();
+        createMinimap();
         createLevelDescriptor();
         createDeathPrompt();
 
@@ -181,13 +191,15 @@ public class Hud extends UI {
 
     public void update(float dt) {
         if (touchDown) {
+            // the dir pad takes over from tap to move
+            player.clearPath();
             dirTime += dt;
             // quick tap to change direction
             if (dirTime > 0 && dirTime <= 0.15f) player.getAm().setAnimation(dirIndex);
             // move the player
             else movePlayer(dirIndex);
         }
-        else {
+        else if (!player.followPath()) {
             player.getAm().stopAnimation();
         }
 
@@ -252,6 +264,8 @@ public class Hud extends UI {
         }
         for (int i = 0; i < 4; i++) dirPad[i].setVisible(toggle);
         for (int i = 0; i < 2; i++) optionButtons[i].setVisible(toggle);
+        minimap.setVisible(toggle);
+        minimapFog.setVisible(toggle && gameScreen.gameMap.getFogOfWar() != null);
         levelDescriptor.setVisible(toggle);
     }
 
@@ -325,6 +339,40 @@ public class Hud extends UI {
         levelMoving = new Moving(new Vector2(), new Vector2(), 150.f);
     }
 
+    private void createMinimap() {
+        minimap = new Image();
+        minimap.setTouchable(Touchable.disabled);
+        minimap.setColor(1, 1, 1, 0.8f);
+        stage.addActor(minimap);
+        minimapFog = new Image();
+        minimapFog.setTouchable(Touchable.disabled);
+        minimapFog.setColor(1, 1, 1, 0.8f);
+        stage.addActor(minimapFog);
+    }
+
+    /**
+     * Shows the minimap of a newly loaded map
+     *
+     * @param tileMap
+     */
+    @Override
+    public void setTileMap(TileMap tileMap) {
+        super.setTileMap(tileMap);
+        minimap.setDrawable(new TextureRegionDrawable(new TextureRegion(tileMap.getMinimap().getTexture())));
+        float scale = Math.min(MINIMAP_SIZE / tileMap.mapWidth, MINIMAP_SIZE / tileMap.mapHeight);
+        minimap.setSize(tileMap.mapWidth * scale, tileMap.mapHeight * scale);
+        // clear of the level descriptor, the dir pad and the option buttons
+        minimap.setPosition(Unlucky.V_WIDTH - 5 - minimap.getWidth(), 5);
+
+        // the fog texture has the same one texel per tile layout so it lines up exactly
+        FogOfWar fog = gameScreen.gameMap.getFogOfWar();
+        minimapFog.setVisible(fog != null);
+        if (fog != null) {
+            minimapFog.setDrawable(new TextureRegionDrawable(new TextureRegion(fog.getTexture())));
+            minimapFog.setBounds(minimap.getX(), minimap.getY(), minimap.getWidth(), minimap.getHeight());
+        }
+    }
+
     /**
      * Creates the death screen message
      */
@@ -382,8 +430,7 @@ public class Hud extends UI {
     public void backToMenu() {
         game.menuScreen.transitionIn = 0;
         if (gameScreen.gameMap.weather != WeatherType.NORMAL) {
-            rm.lightrain.stop(gameScreen.gameMap.soundId);
-            rm.heavyrain.stop(gameScreen.gameMap.soundId);
+            rm.stopRain(gameScreen.gameMap.soundId);
         }
         if (gameScreen.isClickable()) {
             gameScreen.setClickable(false);
@@ -442,8 +489,7 @@ public class Hud extends UI {
                     player.setHp(player.getMaxHp());
                     player.inMap = false;
                     if (gameScreen.gameMap.weather != WeatherType.NORMAL) {
-                        rm.lightrain.stop(gameScreen.gameMap.soundId);
-                        rm.heavyrain.stop(gameScreen.gameMap.soundId);
+                        rm.stopRain(gameScreen.gameMap.soundId);
                     }
                     backToMenu();
                 }
@@ -507,8 +553,7 @@ public class Hud extends UI {
                 // pause music and sfx
                 gameScreen.gameMap.mapTheme.pause();
                 if (gameScreen.gameMap.weather != WeatherType.NORMAL) {
-                    rm.lightrain.stop(gameScreen.gameMap.soundId);
-                    rm.heavyrain.stop(gameScreen.gameMap.soundId);
+                    rm.stopRain(gameScreen.gameMap.soundId);
                 }
 
                 gameScreen.setCurrentEvent(EventState.PAUSE);
@@ -46,12 +46,12 @@ import com.anyicomplex.unlucky.entity.Player;
 import com.anyicomplex.unlucky.map.TileMap;
 import com.anyicomplex.unlucky.resource.ResourceManager;
 import com.anyicomplex.unlucky.screen.GameScreen;
+import com.anyicomplex.unlucky.screen.NativeViewport;
 import com.anyicomplex.unlucky.util.Disposer;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.Disposable;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 /**
@@ -79,7 +79,7 @@ public abstract class UI implements Disposable {
         this.player = player;
         this.rm = rm;
 
-        viewport = new FitViewport(Unlucky.V_WIDTH, Unlucky.V_HEIGHT, new OrthographicCamera());
+        viewport = new NativeViewport(new OrthographicCamera());
         stage = new Stage(viewport, game.batch);
 
         shapeRenderer = new ShapeRenderer();
@@ -92,7 +92,7 @@ public abstract class UI implements Disposable {
         this.player = player;
         this.rm = rm;
 
-        viewport = new FitViewport(Unlucky.V_WIDTH, Unlucky.V_HEIGHT, new OrthographicCamera());
+        viewport = new NativeViewport(new OrthographicCamera());
         stage = new Stage(viewport, gameScreen.getBatch());
 
         shapeRenderer = new ShapeRenderer();
@@ -290,7 +290,7 @@ public class InventoryUI extends UI {
         for (int i = 0; i < Inventory.NUM_SLOTS; i++) {
             Item item = player.inventory.getItem(i);
             if (item != null) {
-                stage.addActor(item.actor);
+                stage.addActor(item.getActor());
             }
         }
     }
@@ -302,7 +302,7 @@ public class InventoryUI extends UI {
         for (int i = 0; i < Equipment.NUM_SLOTS; i++) {
             Item item = player.equips.getEquipAt(i);
             if (item != null) {
-                stage.addActor(item.actor);
+                stage.addActor(item.getActor());
             }
         }
     }
@@ -314,13 +314,13 @@ public class InventoryUI extends UI {
         for (int i = 0; i < Inventory.NUM_SLOTS; i++) {
             Item item = player.inventory.getItem(i);
             if (item != null) {
-                item.actor.remove();
+                item.getActor().remove();
             }
         }
         for (int i = 0; i < Equipment.NUM_SLOTS; i++) {
             Item item = player.equips.getEquipAt(i);
             if (item != null) {
-                item.actor.remove();
+                item.getActor().remove();
             }
         }
     }
@@ -352,8 +352,8 @@ public class InventoryUI extends UI {
      * @param item
      */
     private void addInventoryEvent(final Item item) {
-        item.actor.clearListeners();
-        item.actor.addListener(new DragListener() {
+        item.getActor().clearListeners();
+        item.getActor().addListener(new DragListener() {
 
             @Override
             public void dragStart(InputEvent event, float x, float y, int pointer) {
@@ -365,19 +365,19 @@ public class InventoryUI extends UI {
                     unselectItem();
 
                     // original positions
-                    prevX = (int) (item.actor.getX() + item.actor.getWidth() / 2);
-                    prevY = (int) (item.actor.getY() + item.actor.getHeight() / 2);
+                    prevX = (int) (item.getActor().getX() + item.getActor().getWidth() / 2);
+                    prevY = (int) (item.getActor().getY() + item.getActor().getHeight() / 2);
 
-                    item.actor.toFront();
+                    item.getActor().toFront();
                     selectedSlot.setVisible(false);
                     if (!item.equipped) player.inventory.removeItem(item.index);
-                    else player.equips.removeEquip(item.type - 2);
+                    else player.equips.removeEquip(item.definition.type - 2);
                 }
             }
 
             @Override
             public void drag(InputEvent event, float x, float y, int pointer) {
-                item.actor.moveBy(x - item.actor.getWidth() / 2, y - item.actor.getHeight() / 2);
+                item.getActor().moveBy(x - item.getActor().getWidth() / 2, y - item.getActor().getHeight() / 2);
             }
 
             @Override
@@ -386,8 +386,8 @@ public class InventoryUI extends UI {
 
                 selectedSlot.setVisible(false);
                 // origin positions
-                int ax = (int) (item.actor.getX() + item.actor.getWidth() / 2);
-                int ay = (int) (item.actor.getY() + item.actor.getHeight() / 2);
+                int ax = (int) (item.getActor().getX() + item.getActor().getWidth() / 2);
+                int ay = (int) (item.getActor().getY() + item.getActor().getHeight() / 2);
 
                 if (!game.player.settings.muteSfx) rm.invselectclick.play(game.player.settings.sfxVolume);
 
@@ -415,13 +415,13 @@ public class InventoryUI extends UI {
                 else {
                     // dropping into equips slots
                     if (EQUIPS_AREA.contains(ax, ay)) {
-                        if (item.type >= 2 && item.type <= 9 && inMenu) {
+                        if (item.definition.type >= 2 && item.definition.type <= 9 && inMenu) {
                             item.equipped = true;
                             player.equip(item);
                             updateText();
                             if (!player.equips.addEquip(item)) {
                                 // replace the equip with the item of same type
-                                Item swap = player.equips.removeEquip(item.type - 2);
+                                Item swap = player.equips.removeEquip(item.definition.type - 2);
                                 swap.equipped = false;
                                 player.unequip(swap);
                                 player.equips.addEquip(item);
@@ -443,7 +443,7 @@ public class InventoryUI extends UI {
                             if (!player.inventory.addItemAtIndex(item, hi)) {
                                 Item eq = player.inventory.getItem(hi);
                                 // dragging an enchant scroll onto an equip
-                                if (item.type == 10 && eq.type >= 2 && eq.type <= 9) {
+                                if (item.definition.type == 10 && eq.definition.type >= 2 && eq.definition.type <= 9) {
                                     applyEnchantBonus(eq, item);
                                 }
                                 else {
@@ -460,13 +460,13 @@ public class InventoryUI extends UI {
 
         });
 
-        item.actor.addListener(new InputListener() {
+        item.getActor().addListener(new InputListener() {
 
             @Override
             public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
                 // original positions
-                prevX = (int) (item.actor.getX() + item.actor.getWidth() / 2);
-                prevY = (int) (item.actor.getY() + item.actor.getHeight() / 2);
+                prevX = (int) (item.getActor().getX() + item.getActor().getWidth() / 2);
+                prevY = (int) (item.getActor().getY() + item.getActor().getHeight() / 2);
 
                 return true;
             }
@@ -474,8 +474,8 @@ public class InventoryUI extends UI {
             @Override
             public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
                 // new positions
-                int ax = (int) (item.actor.getX() + item.actor.getWidth() / 2);
-                int ay = (int) (item.actor.getY() + item.actor.getHeight() / 2);
+                int ax = (int) (item.getActor().getX() + item.getActor().getWidth() / 2);
+                int ay = (int) (item.getActor().getY() + item.getActor().getHeight() / 2);
                 // a true click and not a drag
                 if (prevX == ax && prevY == ay) {
                     // item selected
@@ -502,20 +502,20 @@ public class InventoryUI extends UI {
         });
 
         // handle double clicks for item usage and equip
-        item.actor.addListener(new ClickListener() {
+        item.getActor().addListener(new ClickListener() {
 
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 if (getTapCount() == 2) {
                     tooltip.setVisible(false);
                     // consuming potions
-                    if (item.type == 0) {
+                    if (item.definition.type == 0) {
                         itemSelected = true;
                         currentItem = item;
                         consume();
                     }
                     // equip items with double click
-                    else if (item.type >= 2 && item.type <= 9 && inMenu) {
+                    else if (item.definition.type >= 2 && item.definition.type <= 9 && inMenu) {
                         unselectItem();
                         selectedSlot.setVisible(false);
                         if (!item.equipped) {
@@ -525,7 +525,7 @@ public class InventoryUI extends UI {
                             updateText();
                             if (!player.equips.addEquip(item)) {
                                 // replace the equip with the item of same type
-                                Item swap = player.equips.removeEquip(item.type - 2);
+                                Item swap = player.equips.removeEquip(item.definition.type - 2);
                                 swap.equipped = false;
                                 player.unequip(swap);
                                 player.equips.addEquip(item);
@@ -536,7 +536,7 @@ public class InventoryUI extends UI {
                         // double clicking an equipped item unequips it and places it
                         // in the first open slot if it exists
                         else {
-                            player.equips.removeEquip(item.type - 2);
+                            player.equips.removeEquip(item.definition.type - 2);
                             if (!player.inventory.addItem(item)) {
                                 player.equips.addEquip(item);
                             } else {
@@ -580,7 +580,7 @@ public class InventoryUI extends UI {
                 tooltip.setVisible(false);
                 if (!game.player.settings.muteSfx) rm.buttonclick1.play(game.player.settings.sfxVolume * 0.3f);
                 // only equips can be enchanted
-                if (currentItem != null && currentItem.type >= 2 && currentItem.type <= 9) {
+                if (currentItem != null && currentItem.definition.type >= 2 && currentItem.definition.type <= 9) {
                     new Dialog("Enchant", rm.dialogSkin) {
                         {
                             Label l = new Label("Enchant " + currentItem.labelName + "\nfor " + currentItem.enchantCost + " g?", rm.dialogSkin);
@@ -629,7 +629,7 @@ public class InventoryUI extends UI {
                             if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
                             if (object.equals("yes")) {
                                 player.addGold(currentItem.sell);
-                                player.inventory.items[currentItem.index].actor.remove();
+                                player.inventory.items[currentItem.index].getActor().remove();
                                 player.inventory.removeItem(currentItem.index);
                                 unselectItem();
                                 updateText();
@@ -664,8 +664,8 @@ public class InventoryUI extends UI {
             protected void result(Object object) {
                 if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
                 if (object.equals("yes")) {
-                    item.bonusEnchantChance = scroll.eChance;
-                    scroll.actor.remove();
+                    item.bonusEnchantChance = scroll.definition.eChance;
+                    scroll.getActor().remove();
                     player.inventory.removeItem(scroll.index);
                     if (inMenu) game.save.save();
                 }
@@ -751,7 +751,7 @@ public class InventoryUI extends UI {
                     @Override
                     protected void result(Object object) {
                         if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
-                        player.inventory.items[currentItem.index].actor.remove();
+                        player.inventory.items[currentItem.index].getActor().remove();
                         player.inventory.removeItem(currentItem.index);
                         unselectItem();
                     }
@@ -788,10 +788,10 @@ public class InventoryUI extends UI {
         new Dialog("Consume", rm.dialogSkin) {
             {
                 Label l = new Label("Heal for " +
-                    (currentItem.hp < 0 ? (int) ((-currentItem.hp / 100f) * player.getMaxHp()) : currentItem.hp)
+                    (currentItem.definition.hp < 0 ? (int) ((-currentItem.definition.hp / 100f) * player.getMaxHp()) : currentItem.definition.hp)
                     + " HP\nusing this potion?", rm.dialogSkin);
-                if (currentItem.exp > 0) {
-                    l.setText("Gain " + (int) ((currentItem.exp / 100f) * player.getMaxExp()) + " EXP\nfrom this potion?");
+                if (currentItem.definition.exp > 0) {
+                    l.setText("Gain " + (int) ((currentItem.definition.exp / 100f) * player.getMaxExp()) + " EXP\nfrom this potion?");
                 }
                 l.setFontScale(0.5f);
                 l.setAlignment(Align.center);
@@ -806,10 +806,10 @@ public class InventoryUI extends UI {
             protected void result(Object object) {
                 if (!game.player.settings.muteSfx) rm.buttonclick2.play(game.player.settings.sfxVolume);
                 if (object.equals("yes")) {
-                    if (currentItem.hp < 0) player.percentagePotion(-currentItem.hp);
-                    else if (currentItem.exp > 0) player.addExp((int) ((currentItem.exp / 100f) * player.getMaxExp()));
-                    else player.potion(currentItem.hp);
-                    player.inventory.items[currentItem.index].actor.remove();
+                    if (currentItem.definition.hp < 0) player.percentagePotion(-currentItem.definition.hp);
+                    else if (currentItem.definition.exp > 0) player.addExp((int) ((currentItem.definition.exp / 100f) * player.getMaxExp()));
+                    else player.potion(currentItem.definition.hp);
+                    player.inventory.items[currentItem.index].getActor().remove();
                     player.inventory.removeItem(currentItem.index);
                     unselectItem();
                     updateText();
@@ -849,8 +849,8 @@ public class InventoryUI extends UI {
     private Vector2 getCoords(Item item) {
         Vector2 ret = new Vector2();
         if (item.equipped) {
-            ret.set(7 + (player.equips.positions[item.type - 2].x - 2),
-                7 + (player.equips.positions[item.type - 2].y - 2));
+            ret.set(7 + (player.equips.positions[item.definition.type - 2].x - 2),
+                7 + (player.equips.positions[item.definition.type - 2].y - 2));
         }
         else {
             int i = item.index;
@@ -959,13 +959,13 @@ public class InventoryUI extends UI {
             if (!currentItem.equipped) {
                 for (int i = 0; i < 2; i++) {
                     invButtons[i].setTouchable(Touchable.enabled);
-                    if (currentItem.type < 2 || currentItem.type == 10) {
+                    if (currentItem.definition.type < 2 || currentItem.definition.type == 10) {
                         invButtons[0].setTouchable(Touchable.disabled);
                         invButtons[0].setStyle(disabled);
                     }
                     invButtons[i].setStyle(enabled);
                     // add enchant cost of item to button
-                    if (currentItem.type >= 2 && currentItem.type <= 9)
+                    if (currentItem.definition.type >= 2 && currentItem.definition.type <= 9)
                         invButtonLabels[0].setText("ENCHANT FOR\n" + currentItem.enchantCost + " g");
                     // add sell value of item to button
                     invButtonLabels[1].setText("SELL FOR\n" + currentItem.sell + " g");
@@ -1010,7 +1010,7 @@ public class InventoryUI extends UI {
                     int x = i % NUM_COLS;
                     int y = i / NUM_COLS;
                     if (item != null) {
-                        item.actor.setPosition(ui.getX() + 86 + (x * 16), ui.getY() + (58 - (y * 16)));
+                        item.getActor().setPosition(ui.getX() + 86 + (x * 16), ui.getY() + (58 - (y * 16)));
                     }
                 }
                 // update equips positions
@@ -1018,7 +1018,7 @@ public class InventoryUI extends UI {
                     float x = player.equips.positions[i].x;
                     float y = player.equips.positions[i].y;
                     if (player.equips.getEquipAt(i) != null) {
-                        player.equips.getEquipAt(i).actor.setPosition(ui.getX() + x, ui.getY() + y);
+                        player.equips.getEquipAt(i).getActor().setPosition(ui.getX() + x, ui.getY() + y);
                     }
                 }
             }
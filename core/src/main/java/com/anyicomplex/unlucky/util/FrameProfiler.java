@@ -0,0 +1,267 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.util;
+
+import com.anyicomplex.unlucky.Unlucky;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Debug overlay with the CPU time of each phase of a frame, SpriteBatch
+ * and GL statistics and percentiles of recent frame times.
+ *
+ * Timings are summed between begin and end calls over a frame. Phases
+ * timed inside a fixed step are kept apart and shown per step, so frames
+ * that run several steps don't inflate them. Nothing is measured and
+ * nothing allocates while it is disabled.
+ */
+public class FrameProfiler {
+
+    // phases
+    public static final int MAP_UPDATE = 0;
+    public static final int TILE_MAP = 1;
+    public static final int PARTICLES = 2;
+    public static final int HUD = 3;
+    public static final int BATTLE_UI = 4;
+    public static final int TRANSITION = 5;
+    private static final int NUM_PHASES = 6;
+    private static final String[] PHASE_NAMES = { "map update", "tile map", "particles", "hud", "battle ui", "transition" };
+
+    // number of frames kept for the frame time percentiles
+    private static final int HISTORY = 240;
+    // seconds between refreshes of the overlay text
+    private static final float REFRESH_TIME = 0.5f;
+
+    private boolean enabled = false;
+    private GLProfiler glProfiler;
+
+    // nanoseconds spent in each phase this frame and when each open phase began
+    private final long[] phaseTimes = new long[NUM_PHASES];
+    private final long[] phaseStarts = new long[NUM_PHASES];
+    // nanoseconds spent in each phase inside the fixed steps of this frame
+    private final long[] stepTimes = new long[NUM_PHASES];
+    private int steps = 0;
+    private boolean inStep = false;
+
+    // what drawing the overlay cost, taken off the frame's counts
+    private int overlayDrawCalls = 0;
+    private int overlayTextureBinds = 0;
+
+    // ring buffer of frame times in milliseconds
+    private final float[] frameTimes = new float[HISTORY];
+    private final float[] sorted = new float[HISTORY];
+    private int frameIndex = 0;
+    private int numFrames = 0;
+
+    private float refreshTime = REFRESH_TIME;
+    private final StringBuilder text = new StringBuilder();
+    private final Matrix4 projection = new Matrix4();
+
+    /**
+     * Turns the profiler on or off, cheap to call every frame
+     *
+     * @param enabled
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) return;
+        this.enabled = enabled;
+        if (glProfiler == null) glProfiler = new GLProfiler(Gdx.graphics);
+        if (enabled) {
+            glProfiler.enable();
+            glProfiler.reset();
+            numFrames = 0;
+            frameIndex = 0;
+            refreshTime = REFRESH_TIME;
+        }
+        else glProfiler.disable();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void begin(int phase) {
+        if (enabled) phaseStarts[phase] = TimeUtils.nanoTime();
+    }
+
+    public void end(int phase) {
+        if (!enabled) return;
+        long time = TimeUtils.nanoTime() - phaseStarts[phase];
+        if (inStep) stepTimes[phase] += time;
+        else phaseTimes[phase] += time;
+    }
+
+    /**
+     * Phases timed until endStep belong to one fixed step of the simulation
+     */
+    public void beginStep() {
+        if (!enabled) return;
+        inStep = true;
+        steps++;
+    }
+
+    public void endStep() {
+        inStep = false;
+    }
+
+    /**
+     * Draws the overlay over the frame, its own draw calls are left out of the counts
+     * Must be called after everything else in the frame is drawn
+     *
+     * @param batch the batch everything was drawn with
+     * @param font
+     */
+    public void draw(SpriteBatch batch, BitmapFont font) {
+        if (!enabled) return;
+
+        int renderCalls = batch.totalRenderCalls;
+        int maxSprites = batch.maxSpritesInBatch;
+        int drawCalls = glProfiler.getDrawCalls();
+        int textureBinds = glProfiler.getTextureBindings();
+
+        float scaleX = font.getData().scaleX;
+        float scaleY = font.getData().scaleY;
+        projection.setToOrtho2D(0, 0, Unlucky.V_WIDTH, Unlucky.V_HEIGHT);
+        batch.setProjectionMatrix(projection);
+        float color = batch.getPackedColor();
+        batch.begin();
+        batch.setColor(Color.WHITE);
+        font.getData().setScale(0.5f);
+        font.setColor(Color.YELLOW);
+        font.draw(batch, text, 2, Unlucky.V_HEIGHT - 2);
+        font.setColor(Color.WHITE);
+        font.getData().setScale(scaleX, scaleY);
+        batch.end();
+        batch.setPackedColor(color);
+
+        batch.totalRenderCalls = renderCalls;
+        batch.maxSpritesInBatch = maxSprites;
+        overlayDrawCalls += glProfiler.getDrawCalls() - drawCalls;
+        overlayTextureBinds += glProfiler.getTextureBindings() - textureBinds;
+    }
+
+    /**
+     * Records the frame, must be called once it is fully on screen
+     * so a native resolution blit is counted in the same frame
+     *
+     * @param batch the batch everything was drawn with
+     * @param dt time of the frame
+     */
+    public void endFrame(SpriteBatch batch, float dt) {
+        if (!enabled) return;
+
+        frameTimes[frameIndex] = dt * 1000;
+        frameIndex = (frameIndex + 1) % HISTORY;
+        if (numFrames < HISTORY) numFrames++;
+
+        refreshTime += dt;
+        if (refreshTime >= REFRESH_TIME) {
+            refreshTime = 0;
+            updateText(batch);
+        }
+
+        batch.totalRenderCalls = 0;
+        batch.maxSpritesInBatch = 0;
+        glProfiler.reset();
+        overlayDrawCalls = 0;
+        overlayTextureBinds = 0;
+        for (int i = 0; i < NUM_PHASES; i++) {
+            phaseTimes[i] = 0;
+            stepTimes[i] = 0;
+        }
+        steps = 0;
+    }
+
+    private void updateText(SpriteBatch batch) {
+        text.setLength(0);
+        for (int i = 0; i < NUM_PHASES; i++) {
+            text.append(PHASE_NAMES[i]).append(' ');
+            appendMillis(phaseTimes[i] / 1000);
+            text.append(" ms");
+            if (steps > 0) {
+                text.append(" + ");
+                appendMillis(stepTimes[i] / steps / 1000);
+                text.append(" ms per step");
+            }
+            text.append('\n');
+        }
+        text.append("steps ").append(steps).append('\n');
+        text.append("render calls ").append(batch.totalRenderCalls)
+            .append(" max sprites ").append(batch.maxSpritesInBatch).append('\n');
+        text.append("draw calls ").append(glProfiler.getDrawCalls() - overlayDrawCalls)
+            .append(" texture binds ").append(glProfiler.getTextureBindings() - overlayTextureBinds).append('\n');
+
+        System.arraycopy(frameTimes, 0, sorted, 0, numFrames);
+        Arrays.sort(sorted, 0, numFrames);
+        text.append("frame p50 ");
+        appendMillis((long) (percentile(0.5f) * 1000));
+        text.append(" p95 ");
+        appendMillis((long) (percentile(0.95f) * 1000));
+        text.append(" p99 ");
+        appendMillis((long) (percentile(0.99f) * 1000));
+        text.append(" ms");
+    }
+
+    private float percentile(float p) {
+        if (numFrames == 0) return 0;
+        return sorted[Math.min(numFrames - 1, (int) (p * numFrames))];
+    }
+
+    /**
+     * Appends microseconds as milliseconds with two decimals without formatting
+     */
+    private void appendMillis(long micros) {
+        long hundredths = micros / 10;
+        text.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) text.append('0');
+        text.append(fraction);
+    }
+
+}
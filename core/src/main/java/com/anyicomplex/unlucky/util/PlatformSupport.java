@@ -41,6 +41,10 @@
 
 package com.anyicomplex.unlucky.util;
 
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
+
 public abstract class PlatformSupport {
 
     private static volatile PlatformSupport handler;
@@ -69,6 +73,10 @@ public abstract class PlatformSupport {
         return handler.isFullscreenMode();
     }
 
+    public static ByteBuffer readBuffer(FileHandle file) {
+        return handler.readFileBuffer(file);
+    }
+
     public abstract void openURIFromString(String uri);
 
     public abstract void fullscreenMode();
@@ -77,4 +85,12 @@ public abstract class PlatformSupport {
 
     public abstract boolean isFullscreenMode();
 
+    /**
+     * Returns the content of a file as a buffer, memory mapped where the platform supports it
+     *
+     * @param file
+     * @return
+     */
+    public abstract ByteBuffer readFileBuffer(FileHandle file);
+
 }
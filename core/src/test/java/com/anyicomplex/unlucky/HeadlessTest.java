@@ -0,0 +1,109 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky;
+
+import com.anyicomplex.unlucky.resource.ResourceManager;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import org.junit.BeforeClass;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * Base of the tests that need libGDX running.
+ *
+ * Boots the headless backend once per run with a GL that does nothing, so
+ * SpriteBatches, shaders and textures can be created and drawn with, then
+ * loads every asset into a ResourceManager shared by all the tests.
+ * Tests run with the assets folder as the working directory.
+ */
+public abstract class HeadlessTest {
+
+    protected static ResourceManager rm;
+
+    @BeforeClass
+    public static void boot() {
+        if (rm != null) return;
+        new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+        Gdx.gl = Gdx.gl20 = createGL();
+        rm = new ResourceManager();
+        rm.finishLoading();
+    }
+
+    /**
+     * A GL20 where every call does nothing, shaders always compile
+     * and every uniform and attribute exists
+     *
+     * @return
+     */
+    private static GL20 createGL() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class[] { GL20.class },
+            new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    String name = method.getName();
+                    if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                        int pname = (Integer) args[1];
+                        // no active attributes or uniforms to list, everything else succeeded
+                        boolean count = pname == GL20.GL_ACTIVE_ATTRIBUTES || pname == GL20.GL_ACTIVE_UNIFORMS;
+                        ((IntBuffer) args[2]).put(0, count ? 0 : 1);
+                    }
+                    Class<?> type = method.getReturnType();
+                    if (type == int.class) {
+                        // 0 is a valid location, anything else is a new object name
+                        return name.equals("glGetUniformLocation") || name.equals("glGetAttribLocation") ? 0 : 1;
+                    }
+                    if (type == boolean.class) return false;
+                    if (type == float.class) return 0f;
+                    if (type == String.class) return "";
+                    return null;
+                }
+            });
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.effects;
+
+import com.anyicomplex.unlucky.HeadlessTest;
+import com.anyicomplex.unlucky.resource.Util;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Times the weather particles updated and drawn at 10,000 particles,
+ * over 30 times the 300 of a blizzard, and checks updating and drawing them allocates nothing.
+ */
+public class ParticleFactoryBenchmark extends HeadlessTest {
+
+    private static final int PARTICLES = 10000;
+    // the most sprites a SpriteBatch holds
+    private static final int BATCH_SIZE = 8191;
+    // fit in one batch so drawing them never flushes, the stub GL allocates when called
+    private static final int BATCHED_PARTICLES = 8000;
+    private static final int WARMUP_FRAMES = 2000;
+    private static final int FRAMES = 2000;
+    private static final float STEP = 1 / 60f;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void runFrames(ParticleFactory factory, SpriteBatch batch, int frames) {
+        for (int i = 0; i < frames; i++) {
+            factory.update(STEP);
+            batch.begin();
+            factory.render(batch);
+            batch.end();
+        }
+    }
+
+    /**
+     * Bytes allocated by the update and render calls of some frames, leaving out the GL calls of the batch
+     */
+    private long allocatedByFrames(ParticleFactory factory, SpriteBatch batch, int frames) {
+        // the counter itself may allocate, so only what the frames add on top of it counts
+        long start = allocatedBytes();
+        long overhead = allocatedBytes() - start;
+        long allocated = 0;
+        for (int i = 0; i < frames; i++) {
+            batch.begin();
+            start = allocatedBytes();
+            factory.update(STEP);
+            factory.render(batch);
+            allocated += allocatedBytes() - start - overhead;
+            batch.end();
+        }
+        return allocated;
+    }
+
+    private void benchmark(String name, int type, Vector2 velocity) {
+        OrthographicCamera cam = new OrthographicCamera(200, 120);
+        SpriteBatch batch = new SpriteBatch(BATCH_SIZE);
+        ParticleFactory factory = new ParticleFactory(cam, rm);
+
+        factory.set(type, PARTICLES, velocity);
+        runFrames(factory, batch, WARMUP_FRAMES);
+        long time = System.nanoTime();
+        runFrames(factory, batch, FRAMES);
+        long nanos = (System.nanoTime() - time) / FRAMES;
+
+        factory.set(type, BATCHED_PARTICLES, velocity);
+        long allocated = allocatedByFrames(factory, batch, FRAMES);
+        batch.dispose();
+
+        System.out.println(name + " x" + PARTICLES + ": " + nanos + " ns per frame");
+        assertEquals(name + " bytes allocated by " + FRAMES + " frames", 0, allocated);
+        // the whole frame budget would leave nothing for the rest of the game
+        assertTrue(name + " took " + nanos + " ns per frame", nanos < STEP * 1e9f / 4);
+    }
+
+    @Test
+    public void rain() {
+        benchmark("rain", Particle.RAINDROP, Util.HEAVY_RAIN_VELOCITY);
+    }
+
+    @Test
+    public void snow() {
+        benchmark("snow", Particle.SNOWFLAKE, Util.BLIZZARD_VELOCITY);
+    }
+
+}
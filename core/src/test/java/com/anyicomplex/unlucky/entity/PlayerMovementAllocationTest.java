@@ -0,0 +1,127 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.entity;
+
+import com.anyicomplex.unlucky.HeadlessTest;
+import com.anyicomplex.unlucky.map.MapData;
+import com.anyicomplex.unlucky.map.MapFormat;
+import com.anyicomplex.unlucky.map.TileMap;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the map movement path of the player allocates nothing once it is warmed up.
+ * Uses the HotSpot per thread allocation counter.
+ */
+public class PlayerMovementAllocationTest extends HeadlessTest {
+
+    private static final float STEP = 1 / 60f;
+
+    // direction of the last move, right and left in turn
+    private int dir = 3;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * An open map of empty ground tiles
+     */
+    private static MapData createMap(int size) {
+        MapData data = new MapData();
+        data.mapWidth = size;
+        data.mapHeight = size;
+        data.spawnX = size / 2;
+        data.spawnY = size / 2;
+        data.bottomLayer = new short[size * size];
+        data.tileLayer = new short[size * size];
+        for (int i = 0; i < size * size; i++) data.tileLayer[i] = MapFormat.CELL_EMPTY;
+        data.animated = new int[0];
+        data.entities = new int[0];
+        return data;
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Walks the player right and left, a step of the simulation per frame
+     */
+    private void walk(Player player, TileMap tileMap, OrthographicCamera cam, int frames) {
+        for (int i = 0; i < frames; i++) {
+            if (player.canMove()) {
+                dir = dir == 2 ? 3 : 2;
+                player.move(dir);
+            }
+            player.update(STEP);
+            tileMap.update(STEP);
+            cam.position.set(player.getPosition().x, player.getPosition().y, 0);
+            tileMap.setView(cam);
+        }
+    }
+
+    @Test
+    public void steadyMovementAllocatesNothing() {
+        TileMap tileMap = new TileMap(16, createMap(32), new Vector2(), rm);
+        Player player = new Player("player", rm);
+        player.setMap(tileMap);
+        OrthographicCamera cam = new OrthographicCamera(200, 120);
+
+        walk(player, tileMap, cam, 10000);
+
+        // the counter itself may allocate, so only what the frames add on top of it counts
+        long start = allocatedBytes();
+        long overhead = allocatedBytes() - start;
+        start = allocatedBytes();
+        walk(player, tileMap, cam, 1000);
+        long allocated = allocatedBytes() - start - overhead;
+
+        assertEquals("bytes allocated by 1000 movement frames", 0, allocated);
+        tileMap.dispose();
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.map;
+
+import com.anyicomplex.unlucky.HeadlessTest;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Times setView and the three TileMap render passes on small and large maps.
+ * Only the tiles around the camera are visited, so the cost must stay flat as the map grows.
+ */
+public class TileMapRenderBenchmark extends HeadlessTest {
+
+    private static final int WARMUP_FRAMES = 20000;
+    private static final int FRAMES = 20000;
+
+    /**
+     * A map of any size made by repeating the layers of the first level
+     *
+     * @param size width and height in tiles
+     * @return
+     */
+    static MapData createMap(int size) {
+        MapData level = MapData.read(MapData.getMapFile(0, 0));
+        MapData data = new MapData();
+        data.mapWidth = size;
+        data.mapHeight = size;
+        data.spawnX = size / 2;
+        data.spawnY = size / 2;
+        data.hasTopLayer = level.hasTopLayer;
+        data.bottomLayer = new short[size * size];
+        data.tileLayer = new short[size * size];
+        if (level.hasTopLayer) data.topLayer = new short[size * size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int src = (r % level.mapHeight) * level.mapWidth + c % level.mapWidth;
+                data.bottomLayer[r * size + c] = level.bottomLayer[src];
+                data.tileLayer[r * size + c] = level.tileLayer[src];
+                if (level.hasTopLayer) data.topLayer[r * size + c] = level.topLayer[src];
+            }
+        }
+        data.animated = new int[0];
+        data.entities = new int[0];
+        return data;
+    }
+
+    /**
+     * Average nanoseconds of a frame of setView and the render passes,
+     * with the camera panning over the middle of the map
+     */
+    private long timeFrames(TileMap tileMap, SpriteBatch batch, OrthographicCamera cam, int frames) {
+        float center = tileMap.mapWidth * tileMap.tileSize / 2f;
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            cam.position.set(center + (i % 64), center + (i % 32), 0);
+            cam.update();
+            tileMap.setView(cam);
+            batch.begin();
+            tileMap.renderBottomLayer(batch);
+            tileMap.render(batch);
+            tileMap.renderTopLayer(batch);
+            batch.end();
+        }
+        return (System.nanoTime() - start) / frames;
+    }
+
+    private long benchmark(int size, SpriteBatch batch) {
+        TileMap tileMap = new TileMap(16, createMap(size), new Vector2(), rm);
+        OrthographicCamera cam = new OrthographicCamera(200, 120);
+        timeFrames(tileMap, batch, cam, WARMUP_FRAMES);
+        long nanos = timeFrames(tileMap, batch, cam, FRAMES);
+        System.out.println("TileMap " + size + "x" + size + ": " + nanos + " ns per frame");
+        tileMap.dispose();
+        return nanos;
+    }
+
+    @Test
+    public void renderCostIsFlatInMapSize() {
+        SpriteBatch batch = new SpriteBatch();
+        long small = benchmark(32, batch);
+        long large = benchmark(256, batch);
+        batch.dispose();
+        // 64 times the tiles, a full map scan would be far past this
+        assertTrue("256x256 took " + large + " ns against " + small + " ns for 32x32", large < small * 3);
+    }
+
+}
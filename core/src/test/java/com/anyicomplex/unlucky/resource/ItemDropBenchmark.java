@@ -0,0 +1,119 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.resource;
+
+import com.anyicomplex.unlucky.HeadlessTest;
+import com.anyicomplex.unlucky.inventory.Item;
+import com.anyicomplex.unlucky.inventory.ItemDefinition;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Test;
+
+/**
+ * Times drop generation at every level of every rarity through the level index
+ * against picking from a scan of the rarity's items the way drops used to
+ */
+public class ItemDropBenchmark extends HeadlessTest {
+
+    private static final int ROUNDS = 200;
+
+    // keeps the drops alive so the work can't be optimized away
+    private int checksum;
+
+    /**
+     * Drops an item at every level of every rarity
+     *
+     * @return the number of drops rolled
+     */
+    private int dropIndexed() {
+        int drops = 0;
+        for (int rarity = 0; rarity < rm.items.size; rarity++) {
+            int maxLevel = ItemDropIndexTest.getMaxLevel(rm.items.get(rarity));
+            for (int level = 0; level <= maxLevel; level++) {
+                Item item = rm.getItem(rarity, level);
+                if (item != null) checksum += item.sell;
+                drops++;
+            }
+        }
+        return drops;
+    }
+
+    private int dropLinear() {
+        int drops = 0;
+        for (int rarity = 0; rarity < rm.items.size; rarity++) {
+            Array<ItemDefinition> rare = rm.items.get(rarity);
+            int maxLevel = ItemDropIndexTest.getMaxLevel(rare);
+            for (int level = 0; level <= maxLevel; level++) {
+                IntArray candidates = ItemDropIndexTest.filterLinear(rare, level);
+                if (candidates.size > 0) {
+                    Item item = rare.get(candidates.get(MathUtils.random(candidates.size - 1))).create();
+                    checksum += item.sell;
+                }
+                drops++;
+            }
+        }
+        return drops;
+    }
+
+    @Test
+    public void dropsAtEveryLevel() {
+        for (int i = 0; i < ROUNDS; i++) {
+            dropIndexed();
+            dropLinear();
+        }
+
+        int drops = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) drops += dropLinear();
+        long linear = (System.nanoTime() - start) / drops;
+
+        drops = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) drops += dropIndexed();
+        long indexed = (System.nanoTime() - start) / drops;
+
+        System.out.println("item drops over " + drops / ROUNDS + " (rarity, level) pairs: "
+            + indexed + " ns indexed, " + linear + " ns scanning (" + checksum + ")");
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.resource;
+
+import com.anyicomplex.unlucky.HeadlessTest;
+import com.anyicomplex.unlucky.inventory.Item;
+import com.anyicomplex.unlucky.inventory.ItemDefinition;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the level index of the item drops against a scan of every item of a rarity
+ */
+public class ItemDropIndexTest extends HeadlessTest {
+
+    /**
+     * The highest level any item of a rarity drops at
+     */
+    static int getMaxLevel(Array<ItemDefinition> rare) {
+        int maxLevel = 0;
+        for (ItemDefinition item : rare) maxLevel = Math.max(maxLevel, item.maxLevel);
+        return maxLevel;
+    }
+
+    /**
+     * The indices of the items whose range contains a level, the way drops used to be picked
+     */
+    static IntArray filterLinear(Array<ItemDefinition> rare, int level) {
+        IntArray candidates = new IntArray();
+        for (int i = 0; i < rare.size; i++) {
+            ItemDefinition item = rare.get(i);
+            if (level >= item.minLevel && level <= item.maxLevel) candidates.add(i);
+        }
+        return candidates;
+    }
+
+    @Test
+    public void candidatesMatchLinearFilter() {
+        IntArray candidates = new IntArray();
+        for (int rarity = 0; rarity < rm.items.size; rarity++) {
+            Array<ItemDefinition> rare = rm.items.get(rarity);
+            // one past each end, where nothing drops
+            for (int level = -1; level <= getMaxLevel(rare) + 1; level++) {
+                rm.getLevelCandidates(rarity, level, candidates);
+                assertEquals("rarity " + rarity + " level " + level, filterLinear(rare, level), candidates);
+            }
+        }
+    }
+
+    @Test
+    public void dropsFitTheirLevel() {
+        for (int rarity = 0; rarity < rm.items.size; rarity++) {
+            Array<ItemDefinition> rare = rm.items.get(rarity);
+            int maxLevel = getMaxLevel(rare);
+            for (int level = 0; level <= maxLevel + 1; level++) {
+                Item item = rm.getItem(rarity, level);
+                if (filterLinear(rare, level).size == 0) {
+                    assertNull(item);
+                    continue;
+                }
+                assertNotNull("rarity " + rarity + " level " + level, item);
+                assertEquals(rarity, item.rarity);
+                ItemDefinition definition = item.definition;
+                assertTrue(definition.name + " dropped at level " + level,
+                    level >= definition.minLevel && level <= definition.maxLevel);
+            }
+        }
+    }
+
+}
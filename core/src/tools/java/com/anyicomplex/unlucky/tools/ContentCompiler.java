@@ -0,0 +1,248 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.tools;
+
+import com.anyicomplex.unlucky.resource.ContentFormat;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Build time tool that compiles the moves, items, shop items and worlds json
+ * into the binary content bundle described in ContentFormat.
+ *
+ * Usage: ContentCompiler assetsDir [outputFile]
+ */
+public class ContentCompiler {
+
+    // interned strings in table order
+    private final List<String> strings = new ArrayList<String>();
+    private final Map<String, Integer> stringIndices = new HashMap<String, Integer>();
+
+    // everything after the string table
+    private final ByteBuffer body = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ContentCompiler assetsDir [outputFile]");
+            System.exit(1);
+        }
+        File assetsDir = new File(args[0]);
+        File out = args.length > 1 ? new File(args[1]) : new File(assetsDir, ContentFormat.BUNDLE_PATH);
+
+        JsonReader reader = new JsonReader();
+        ContentCompiler compiler = new ContentCompiler();
+        byte[] data = compiler.compile(
+            reader.parse(read(assetsDir, ContentFormat.MOVES_PATH)),
+            reader.parse(read(assetsDir, ContentFormat.BOSS_MOVES_PATH)),
+            reader.parse(read(assetsDir, ContentFormat.ITEMS_PATH)),
+            reader.parse(read(assetsDir, ContentFormat.SHOP_ITEMS_PATH)),
+            reader.parse(read(assetsDir, ContentFormat.WORLDS_PATH)));
+
+        FileOutputStream stream = new FileOutputStream(out);
+        try {
+            stream.write(data);
+        }
+        finally {
+            stream.close();
+        }
+        System.out.println("Compiled " + data.length + " bytes of content with "
+            + compiler.strings.size() + " strings into " + out.getPath());
+    }
+
+    private static String read(File assetsDir, String path) throws IOException {
+        return new String(Files.readAllBytes(new File(assetsDir, path).toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compiles the parsed content json into a bundle
+     *
+     * @return
+     */
+    public byte[] compile(JsonValue moves, JsonValue bossMoves, JsonValue items, JsonValue shopItems, JsonValue worlds) {
+        // the regular movepools are typed by the pool they're in
+        for (int i = 0; i < ContentFormat.MOVE_POOLS.length; i++) {
+            JsonValue pool = moves.get(ContentFormat.MOVE_POOLS[i]);
+            body.putShort((short) pool.size);
+            for (JsonValue move : pool) writeMove(move, i);
+        }
+        // boss moves are typed individually
+        body.putShort((short) ContentFormat.BOSSES.length);
+        for (String boss : ContentFormat.BOSSES) {
+            JsonValue pool = bossMoves.get(boss);
+            body.putShort((short) pool.size);
+            for (JsonValue move : pool) writeMove(move, move.getInt("type"));
+        }
+
+        writeItems(items, false);
+        writeItems(shopItems, true);
+
+        JsonValue worldList = worlds.get("worlds");
+        body.putShort((short) worldList.size);
+        for (JsonValue world : worldList) {
+            body.putShort(intern(world.getString("name")));
+            body.putShort(intern(world.getString("shortDesc")));
+            body.putShort(intern(world.getString("longDesc")));
+            body.putShort((short) world.getInt("numLevels"));
+            JsonValue levels = world.get("levels");
+            if (levels.size != world.getInt("numLevels")) {
+                throw new IllegalArgumentException("numLevels doesn't match the levels of " + world.getString("name"));
+            }
+            for (JsonValue level : levels) {
+                body.putShort(intern(level.getString("name")));
+                body.putShort((short) level.getInt("avgLevel"));
+            }
+        }
+
+        return link();
+    }
+
+    private void writeMove(JsonValue move, int type) {
+        body.put((byte) type);
+        body.putShort(intern(move.getString("name")));
+        switch (type) {
+            case ContentFormat.MOVE_ACCURATE:
+            case ContentFormat.MOVE_WIDE:
+                body.putFloat(move.getFloat("minDamage"));
+                body.putFloat(move.getFloat("maxDamage"));
+                body.putInt(0);
+                break;
+            case ContentFormat.MOVE_CRIT:
+                body.putFloat(move.getFloat("damage"));
+                body.putFloat(0);
+                body.putInt(move.getInt("crit"));
+                break;
+            case ContentFormat.MOVE_HEAL:
+                body.putFloat(move.getFloat("minHeal"));
+                body.putFloat(move.getFloat("maxHeal"));
+                body.putInt(move.getInt("dmgReduction"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown move type " + type + " of " + move.getString("name"));
+        }
+    }
+
+    /**
+     * Writes the items of every rarity, skipping the types ResourceManager doesn't load
+     *
+     * @param pool
+     * @param shop
+     */
+    private void writeItems(JsonValue pool, boolean shop) {
+        for (int rarity = 0; rarity < ContentFormat.NUM_RARITIES; rarity++) {
+            List<JsonValue> rare = new ArrayList<JsonValue>();
+            for (JsonValue item : pool.get("rare" + rarity)) {
+                int type = item.getInt("type");
+                // there are no misc items in the shop
+                if (type >= 0 && type <= 10 && !(shop && type == 1)) rare.add(item);
+            }
+            body.putShort((short) rare.size());
+            for (JsonValue item : rare) {
+                int type = item.getInt("type");
+                boolean potion = type == 0;
+                boolean equip = type >= 2 && type <= 9;
+                body.put((byte) type);
+                body.putShort(intern(item.getString("name")));
+                body.putShort(intern(item.getString("desc")));
+                body.putShort((short) item.getInt("imgIndex"));
+                body.putShort((short) (shop ? item.getInt("level") : item.getInt("minLevel")));
+                body.putShort((short) (shop ? item.getInt("level") : item.getInt("maxLevel")));
+                body.putInt(potion ? item.getInt("hp") : 0);
+                body.putInt(equip ? item.getInt("mhp") : 0);
+                body.putInt(equip ? item.getInt("dmg") : 0);
+                body.putInt(equip ? item.getInt("acc") : 0);
+                body.putInt(item.getInt("sell"));
+                body.putInt(potion ? item.getInt("exp") : 0);
+                body.putInt(type == 10 ? item.getInt("eChance") : 0);
+                if (shop) body.putInt(item.getInt("price"));
+            }
+        }
+    }
+
+    private short intern(String string) {
+        Integer index = stringIndices.get(string);
+        if (index == null) {
+            if (strings.size() == Short.MAX_VALUE) throw new IllegalStateException("Too many strings");
+            index = strings.size();
+            strings.add(string);
+            stringIndices.put(string, index);
+        }
+        return index.shortValue();
+    }
+
+    /**
+     * Prefixes the body with the header and the string table
+     *
+     * @return
+     */
+    private byte[] link() {
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Short.MAX_VALUE) throw new IllegalStateException("String too long: " + string);
+            table.write(bytes.length & 0xFF);
+            table.write((bytes.length >> 8) & 0xFF);
+            table.write(bytes, 0, bytes.length);
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(8 + table.size() + body.position()).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(ContentFormat.MAGIC);
+        out.putShort(ContentFormat.VERSION);
+        out.putShort((short) strings.size());
+        out.put(table.toByteArray());
+        out.put(body.array(), 0, body.position());
+        return out.array();
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ *   Copyright (C) 2021 Yi An
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *   Original project's License:
+ *
+ *   MIT License
+ *
+ *   Copyright (c) 2018 Ming Li
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package com.anyicomplex.unlucky.tools;
+
+import com.anyicomplex.unlucky.map.MapData;
+import com.anyicomplex.unlucky.map.MapFormat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Build time tool that compiles the text maps into the binary format described in MapFormat.
+ * Every "w[world index]_l[level index].txt" file in the input directory is written
+ * as a ".umap" file with the same name into the output directory.
+ *
+ * Usage: MapCompiler inputDir [outputDir]
+ */
+public class MapCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: MapCompiler inputDir [outputDir]");
+            System.exit(1);
+        }
+        File inputDir = new File(args[0]);
+        File outputDir = args.length > 1 ? new File(args[1]) : inputDir;
+        if (!outputDir.exists() && !outputDir.mkdirs()) throw new IOException("Cannot create " + outputDir);
+
+        File[] maps = inputDir.listFiles();
+        if (maps == null) throw new IOException("Cannot list " + inputDir);
+
+        int count = 0;
+        for (File map : maps) {
+            String name = map.getName();
+            if (!name.matches("w\\d+_l\\d+\\" + MapFormat.TEXT_EXTENSION)) continue;
+
+            String baseName = name.substring(0, name.length() - MapFormat.TEXT_EXTENSION.length());
+            File out = new File(outputDir, baseName + MapFormat.COMPILED_EXTENSION);
+            byte[] data = compile(new String(Files.readAllBytes(map.toPath()), StandardCharsets.UTF_8), name);
+            FileOutputStream stream = new FileOutputStream(out);
+            try {
+                stream.write(data);
+            }
+            finally {
+                stream.close();
+            }
+            count++;
+        }
+        System.out.println("Compiled " + count + " maps into " + outputDir.getPath());
+    }
+
+    /**
+     * Compiles the content of a text map as read by MapData into the binary format
+     *
+     * @param mapInfo
+     * @param name used for error messages
+     * @return
+     */
+    public static byte[] compile(String mapInfo, String name) {
+        MapData data = MapData.parse(mapInfo, name);
+        int size = data.mapWidth * data.mapHeight;
+
+        int length = MapFormat.HEADER_SIZE + (data.hasTopLayer ? 3 : 2) * size * 2
+            + 4 + data.numAnimated * 7 + 4 + data.numEntities * 6;
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MapFormat.MAGIC);
+        buffer.putShort(MapFormat.VERSION);
+        buffer.putShort((short) data.mapWidth);
+        buffer.putShort((short) data.mapHeight);
+        buffer.putShort((short) data.spawnX);
+        buffer.putShort((short) data.spawnY);
+        buffer.put((byte) (data.dark ? 1 : 0));
+        buffer.put((byte) data.weather);
+        buffer.put((byte) (data.hasTopLayer ? 1 : 0));
+        buffer.put((byte) 0);
+
+        for (int k = 0; k < size; k++) buffer.putShort(data.bottomLayer[k]);
+        for (int k = 0; k < size; k++) buffer.putShort(data.tileLayer[k]);
+        if (data.hasTopLayer) {
+            for (int k = 0; k < size; k++) buffer.putShort(data.topLayer[k]);
+        }
+
+        buffer.putInt(data.numAnimated);
+        for (int i = 0; i < data.numAnimated; i++) {
+            buffer.putInt(data.animated[i * 4]);
+            buffer.put((byte) data.animated[i * 4 + 1]);
+            buffer.put((byte) data.animated[i * 4 + 2]);
+            buffer.put((byte) data.animated[i * 4 + 3]);
+        }
+
+        buffer.putInt(data.numEntities);
+        for (int i = 0; i < data.numEntities; i++) {
+            buffer.putInt(data.entities[i * 2]);
+            buffer.putShort((short) data.entities[i * 2 + 1]);
+        }
+
+        return buffer.array();
+    }
+
+}
@@ -44,6 +44,9 @@ package com.anyicomplex.unlucky.gwt;
 import com.anyicomplex.unlucky.Unlucky;
 import com.anyicomplex.unlucky.util.PlatformSupport;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
 
 public class GwtPlatformSupport extends PlatformSupport {
 
@@ -75,4 +78,9 @@ public class GwtPlatformSupport extends PlatformSupport {
         return Gdx.graphics.isFullscreen();
     }
 
+    @Override
+    public ByteBuffer readFileBuffer(FileHandle file) {
+        return ByteBuffer.wrap(file.readBytes());
+    }
+
 }
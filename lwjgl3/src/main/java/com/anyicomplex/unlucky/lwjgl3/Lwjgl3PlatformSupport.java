@@ -3,7 +3,11 @@ package com.anyicomplex.unlucky.lwjgl3;
 import com.anyicomplex.desktop.util.OpenLinkInBrowser;
 import com.anyicomplex.unlucky.Unlucky;
 import com.anyicomplex.unlucky.util.PlatformSupport;
+import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
 
 public class Lwjgl3PlatformSupport extends PlatformSupport {
 
@@ -35,4 +39,11 @@ public class Lwjgl3PlatformSupport extends PlatformSupport {
         return Gdx.graphics.isFullscreen();
     }
 
+    @Override
+    public ByteBuffer readFileBuffer(FileHandle file) {
+        // only files on disk can be mapped, resources inside the jar have to be read
+        if (file.type() != Files.FileType.Classpath && file.file().exists()) return file.map();
+        return ByteBuffer.wrap(file.readBytes());
+    }
+
 }